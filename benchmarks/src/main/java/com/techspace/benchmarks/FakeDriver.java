@@ -0,0 +1,153 @@
+package com.techspace.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * In-process WebDriver with canned answers, so benchmarks measure only the framework
+ *
+ * findElements finds one element for the plain locators it was told are
+ * present (compared by their toString, e.g. "By.cssSelector: h5") and nothing
+ * for the rest; other locators (ranked Locators) search through it the way
+ * they do through a real driver. Scripts return null; screenshots return the
+ * given PNG.
+ */
+public class FakeDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+    private final Set<String> present;
+    private final byte[] screenshot;
+    private final WebElement element;
+
+    // ============================================
+    // CONSTRUCTOR
+    // ============================================
+    public FakeDriver(Set<By> present, byte[] screenshot) {
+        this.present = present.stream().map(By::toString).collect(Collectors.toSet());
+        this.screenshot = screenshot;
+        this.element = fakeElement();
+    }
+
+    // Every WebElement call answers the default of its return type ("" for text)
+    private static WebElement fakeElement() {
+        return (WebElement) Proxy.newProxyInstance(FakeDriver.class.getClassLoader(), new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return method.getName().equals("equals") ? proxy == args[0] : true;
+                    }
+                    if (type == int.class) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (type == String.class) {
+                        return method.getName().equals("toString") ? "FakeElement" : "";
+                    }
+                    if (type == List.class) {
+                        return List.of();
+                    }
+                    return null;
+                });
+    }
+
+    // ============================================
+    // ELEMENTS AND SCRIPTS
+    // ============================================
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        if (!(by instanceof By.Remotable)) {
+            // Like a real driver: locators that aren't sent to the browser search through this driver
+            return by.findElements(this);
+        }
+        return present.contains(by.toString()) ? List.of(element) : List.of();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Not present in the fake driver: " + by);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return target.convertFromPngBytes(screenshot);
+    }
+
+    // ============================================
+    // NAVIGATION (not used by the benchmarks)
+    // ============================================
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "http://fake.local/";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("fake");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "fake";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("FakeDriver has no windows or frames");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("FakeDriver does not navigate");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("FakeDriver has no options");
+    }
+}
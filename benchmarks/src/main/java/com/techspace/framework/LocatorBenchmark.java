@@ -0,0 +1,90 @@
+package com.techspace.framework;
+
+import com.techspace.benchmarks.FakeDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Framework-side cost of building and resolving locators, without a browser
+ * The locator map is the default in-memory one (no file, no probing).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final String XPATH = "//*[@id=\"root\"]/div/div[2]/div[1]/div[2]/button[2]";
+
+    Locator preferredWorks;
+    Locator onlyFallbackWorks;
+    Locator nothingWorks;
+    FakeDriver driver;
+    ElementCache cache;
+
+    @Setup
+    public void setUp() {
+        preferredWorks = increaseButton("Bench.preferredWorks");
+        onlyFallbackWorks = Locator.named("Bench.onlyFallbackWorks")
+                .label("button", "renamed")
+                .knownXpath(XPATH);
+        nothingWorks = Locator.named("Bench.nothingWorks")
+                .label("button", "gone")
+                .knownXpath("//gone");
+        driver = new FakeDriver(
+                Set.of(By.cssSelector("button[aria-label='increase quantity']"), By.xpath(XPATH)), new byte[0]);
+        cache = new ElementCache(driver, "Bench");
+
+        // Let the map learn that only the fallback works
+        driver.findElements(onlyFallbackWorks);
+    }
+
+    private static Locator increaseButton(String name) {
+        return Locator.named(name)
+                .label("button", "increase quantity")
+                .knownXpath(XPATH);
+    }
+
+    @Benchmark
+    public Locator construct() {
+        return increaseButton("Bench.construct");
+    }
+
+    @Benchmark
+    public List<WebElement> findWithPreferredStrategy() {
+        return driver.findElements(preferredWorks);
+    }
+
+    // Steady state after learning: the fallback is tried first
+    @Benchmark
+    public List<WebElement> findWithLearnedFallback() {
+        return driver.findElements(onlyFallbackWorks);
+    }
+
+    // What every poll of a wait for a not-yet-rendered element costs
+    @Benchmark
+    public List<WebElement> findNothing() {
+        return driver.findElements(nothingWorks);
+    }
+
+    @Benchmark
+    public WebElement elementCacheHit() {
+        return cache.get(preferredWorks);
+    }
+}
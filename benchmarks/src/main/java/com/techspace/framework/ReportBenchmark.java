@@ -0,0 +1,81 @@
+package com.techspace.framework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Turning what a run collected into text: one event-log line, and the suite-end
+ * reports filled with about a suite's worth of fixed data
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+    private static final String[] PAGES = {"HomePage", "LoginPage", "RegisterPage", "CartPage", "CheckoutPage",
+            "OrderSuccessPage", "OrdersPage"};
+
+    EventLog.Event event;
+    StringBuilder line;
+    WaitStatistics waitStatistics;
+
+    @Setup
+    public void setUp() throws IOException {
+        // StepTimer logs every step below: to a temp file, not the project's target/
+        Path events = Files.createTempFile("report-benchmark", ".jsonl");
+        System.setProperty("techspace.events.file", events.toString());
+
+        event = new EventLog.Event(1760000000000L, "TestNG-1", "CartTest.testIncreaseProductQuantity", "action",
+                "CartPage.increaseQuantity", "ok", 65231, "Quantity \"2\" -> \"3\"\tafter 1 click");
+        line = new StringBuilder(256);
+
+        Random random = new Random(42);
+        waitStatistics = new WaitStatistics();
+        for (int i = 0; i < 2_000; i++) {
+            String page = PAGES[random.nextInt(PAGES.length)];
+            waitStatistics.record(page, "visibility of By.locator: " + page + ".element" + random.nextInt(8),
+                    TimeUnit.MILLISECONDS.toNanos(random.nextInt(400)), 1 + random.nextInt(6), random.nextInt(100) == 0);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            String page = PAGES[random.nextInt(PAGES.length)];
+            StepTimer.step(page + ".action" + random.nextInt(6), () -> {
+            });
+        }
+        EventLog.close();
+        Files.deleteIfExists(events);
+    }
+
+    @Benchmark
+    public int eventLine() {
+        line.setLength(0);
+        EventLog.format(event, line);
+        return line.length();
+    }
+
+    @Benchmark
+    public String waitStatisticsReport() {
+        return waitStatistics.report(10);
+    }
+
+    @Benchmark
+    public String stepTimerReport() {
+        return StepTimer.report();
+    }
+}
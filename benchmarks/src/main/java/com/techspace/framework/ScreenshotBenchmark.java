@@ -0,0 +1,100 @@
+package com.techspace.framework;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Compressing and writing a failure screenshot, on the writer thread's path
+ * The input is a fixed 1920x1080 PNG (seeded, so every run encodes the same image).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotBenchmark {
+
+    byte[] png;
+    Path directory;
+    ScreenshotWriter writer;
+    int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        png = pageLikePng(1920, 1080, 42);
+        directory = Files.createTempDirectory("screenshot-benchmark");
+        // Cap of a few files, so the directory stays small however long the benchmark runs
+        writer = new ScreenshotWriter(directory, 1, 8, 1280, 0.8f, 4L * 1024 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.flushAndClose(Duration.ofSeconds(10));
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        return writer.compress(png);
+    }
+
+    // Compress, write to a temp file, move into place, apply the disk cap
+    @Benchmark
+    public void compressAndWrite() {
+        writer.write(directory.resolve("failure-" + (next++ & 15) + ".jpg"), png);
+    }
+
+    // White page with a header bar, text-like lines and a few images
+    private static byte[] pageLikePng(int width, int height, long seed) throws IOException {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(new Color(25, 118, 210));
+            graphics.fillRect(0, 0, width, 64);
+            for (int y = 100; y < height; y += 24) {
+                graphics.setColor(new Color(random.nextInt(80), random.nextInt(80), random.nextInt(80)));
+                graphics.fillRect(40, y, 200 + random.nextInt(width - 400), 12);
+            }
+            for (int i = 0; i < 6; i++) {
+                graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+                graphics.fillRect(random.nextInt(width - 300), 100 + random.nextInt(height - 400), 300, 200);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.techspace.pages;
+
+import org.openqa.selenium.By;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Parsing of the cart's texts, done for every quantity, price and total read
+ *
+ * CartText against the regex/split/parseDouble parsing CartPage used before
+ * it (kept below as the baseline). Run with -prof gc to see the allocation
+ * per parse as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartTextParsingBenchmark {
+
+    // Same shapes as the cart renders them
+    String quantityAndPrice = "12 × 1299.99$";
+    String total = "Total Amount: 15599.88$";
+
+    // ============================================
+    // CARTTEXT
+    // ============================================
+
+    @Benchmark
+    public int quantity() {
+        return CartText.quantity(quantityAndPrice);
+    }
+
+    @Benchmark
+    public long unitPriceCents() {
+        return CartText.unitPriceCents(quantityAndPrice);
+    }
+
+    @Benchmark
+    public long totalCents() {
+        return CartText.cents(total);
+    }
+
+    // Everything one snapshot() parses
+    @Benchmark
+    public CartSnapshot snapshot() {
+        return new CartSnapshot("Laptop", CartText.quantity(quantityAndPrice),
+                CartText.unitPriceCents(quantityAndPrice), CartText.cents(total), false);
+    }
+
+    // ============================================
+    // BASELINE: REGEX PARSING
+    // ============================================
+
+    @Benchmark
+    public int regexQuantity() {
+        return Integer.parseInt(quantityAndPrice.split("[×x]")[0].trim());
+    }
+
+    @Benchmark
+    public double regexUnitPrice() {
+        return regexAmount(quantityAndPrice.split("[×x]")[1]);
+    }
+
+    @Benchmark
+    public double regexTotal() {
+        return regexAmount(total);
+    }
+
+    @Benchmark
+    public double regexSnapshot() {
+        String[] parts = quantityAndPrice.split("[×x]");
+        return Integer.parseInt(parts[0].trim()) + regexAmount(parts[1]) + regexAmount(total);
+    }
+
+    private static double regexAmount(String text) {
+        return Double.parseDouble(text.replaceAll("[^0-9.]", ""));
+    }
+
+    // A plain By, for comparison with LocatorBenchmark.construct
+    @Benchmark
+    public By constructXpath() {
+        return By.xpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[2]/button[2]");
+    }
+}
@@ -0,0 +1,113 @@
+package com.techspace.framework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Serializes tests that share a server-side account
+ *
+ * Carts and orders live on the server per account, so two tests logged in as
+ * the same user corrupt each other's state when they run at the same time.
+ * A test leases the accounts it uses before it starts; tests on disjoint
+ * accounts proceed concurrently, tests on a shared account wait their turn.
+ */
+public class AccountScheduler {
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> waitNanosByAccount = new ConcurrentHashMap<>();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong contendedLeases = new AtomicLong();
+
+    /*
+     * Lease the given accounts for the current thread, blocking while another test holds one of them
+     * Locks are always taken in sorted order so two multi-account tests cannot deadlock
+     */
+    public Lease lease(Collection<String> accounts) {
+        TreeSet<String> ordered = new TreeSet<>();
+        for (String account : accounts) {
+            ordered.add(normalize(account));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(ordered.size());
+        boolean contended = false;
+        try {
+            for (String account : ordered) {
+                ReentrantLock lock = locks.computeIfAbsent(account, key -> new ReentrantLock(true));
+                if (lock.tryLock()) {
+                    held.add(lock);
+                    continue;
+                }
+                contended = true;
+                long start = System.nanoTime();
+                lock.lockInterruptibly();
+                held.add(lock);
+                waitNanosByAccount.computeIfAbsent(account, key -> new AtomicLong())
+                        .addAndGet(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            unlock(held);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for accounts " + ordered, e);
+        }
+
+        leases.incrementAndGet();
+        if (contended) {
+            contendedLeases.incrementAndGet();
+        }
+        return new Lease(List.copyOf(ordered), held);
+    }
+
+    /*
+     * Summary of how often tests had to wait for an account and for how long
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Account scheduler: " + leases.get() + " leases, "
+                + contendedLeases.get() + " had to wait");
+        new TreeSet<>(waitNanosByAccount.keySet()).forEach(account -> report
+                .append("\n  ").append(account).append(": waited ")
+                .append(TimeUnit.NANOSECONDS.toMillis(waitNanosByAccount.get(account).get())).append(" ms"));
+        return report.toString();
+    }
+
+    private static String normalize(String account) {
+        return account.trim().toLowerCase();
+    }
+
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    /*
+     * Accounts held by one test; close() from the same thread that leased them
+     */
+    public static final class Lease implements AutoCloseable {
+        private final List<String> accounts;
+        private final List<ReentrantLock> held;
+        private boolean closed;
+
+        private Lease(List<String> accounts, List<ReentrantLock> held) {
+            this.accounts = accounts;
+            this.held = held;
+        }
+
+        public List<String> accounts() {
+            return accounts;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                unlock(held);
+            }
+        }
+    }
+}
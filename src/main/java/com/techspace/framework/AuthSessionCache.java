@@ -0,0 +1,76 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Caches the logged-in localStorage of each account for the whole run
+ *
+ * TechSpace keeps authentication in localStorage (the "token" key). After one
+ * real login per account, later tests can skip the login form: the cached
+ * entries are written into localStorage before the session loads the app
+ * (DriverLease.loadHome), so the app starts logged in.
+ */
+public class AuthSessionCache {
+    private final Map<String, Map<String, String>> storageByAccount = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /*
+     * Get the cached localStorage of an account, or null if the account never logged in this run
+     */
+    public Map<String, String> get(String account) {
+        Map<String, String> storage = storageByAccount.get(account);
+        if (storage == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return storage;
+    }
+
+    /*
+     * Cache the localStorage of an account right after a successful login
+     * Returns the captured entries
+     */
+    public Map<String, String> capture(String account, WebDriver driver) {
+        Map<String, String> storage = readLocalStorage(driver);
+        if (!storage.isEmpty()) {
+            storageByAccount.put(account, storage);
+        }
+        return storage;
+    }
+
+    /*
+     * Forget an account whose cached session no longer works (e.g. token expired)
+     */
+    public void evict(String account) {
+        storageByAccount.remove(account);
+    }
+
+    public String report() {
+        return "Auth session cache: " + storageByAccount.size() + " accounts, "
+                + hits.get() + " fast logins, " + misses.get() + " UI logins";
+    }
+
+    private static Map<String, String> readLocalStorage(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(
+                "var items = {};"
+                        + "for (var i = 0; i < window.localStorage.length; i++) {"
+                        + "  var key = window.localStorage.key(i);"
+                        + "  items[key] = window.localStorage.getItem(key);"
+                        + "}"
+                        + "return items;"
+        );
+        Map<String, String> storage = new LinkedHashMap<>();
+        if (result instanceof Map<?, ?> items) {
+            items.forEach((key, value) -> storage.put(String.valueOf(key), String.valueOf(value)));
+        }
+        return storage;
+    }
+}
@@ -0,0 +1,143 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Named Chrome configurations
+ *
+ * debug-headed  visible, maximized browser (what the suite always used)
+ * ci-headless   headless with a fixed desktop viewport for CI agents
+ * perf-minimal  ci-headless plus no images/fonts and eager page loads
+ *
+ * Fonts are blocked through RequestInterceptor, which also applies the
+ * techspace.block.* / techspace.stub.* rules in every profile.
+ * Select with -Dtechspace.browser.profile=<name>. The viewport stays at a
+ * desktop width in every profile because the header locators assume the
+ * desktop layout.
+ */
+public enum BrowserProfile {
+    DEBUG_HEADED("debug-headed", false, null, false, false, PageLoadStrategy.NORMAL),
+    CI_HEADLESS("ci-headless", true, new Dimension(1920, 1080), false, false, PageLoadStrategy.NORMAL),
+    PERF_MINIMAL("perf-minimal", true, new Dimension(1920, 1080), true, true, PageLoadStrategy.EAGER);
+
+    // Web fonts (Chrome has no switch to turn fonts off): by resource type, plus the
+    // font CSS and files of the common font hosts, which load as stylesheets or "Other"
+    private static final List<RequestInterceptor.Rule> FONT_RULES = List.of(
+            RequestInterceptor.Rule.blockType("Font"),
+            RequestInterceptor.Rule.blockUrls("*fonts.googleapis.com*"),
+            RequestInterceptor.Rule.blockUrls("*fonts.gstatic.com*")
+    );
+
+    // Startup time of every browser started per profile
+    private static final Map<BrowserProfile, LongSummaryStatistics> STARTUP_MILLIS = new EnumMap<>(BrowserProfile.class);
+
+    private final String profileName;
+    private final boolean headless;
+    private final Dimension viewport; // null = maximize the window
+    private final boolean blockImages;
+    private final boolean blockFonts;
+    private final PageLoadStrategy pageLoadStrategy;
+
+    BrowserProfile(String profileName, boolean headless, Dimension viewport, boolean blockImages,
+                   boolean blockFonts, PageLoadStrategy pageLoadStrategy) {
+        this.profileName = profileName;
+        this.headless = headless;
+        this.viewport = viewport;
+        this.blockImages = blockImages;
+        this.blockFonts = blockFonts;
+        this.pageLoadStrategy = pageLoadStrategy;
+    }
+
+    /*
+     * Get the profile selected with -Dtechspace.browser.profile (default: debug-headed)
+     */
+    public static BrowserProfile selected() {
+        return byName(Settings.string("techspace.browser.profile", DEBUG_HEADED.profileName));
+    }
+
+    public static BrowserProfile byName(String name) {
+        for (BrowserProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser profile '" + name + "', expected one of: "
+                + List.of(values()).stream().map(BrowserProfile::profileName).toList());
+    }
+
+    public String profileName() {
+        return profileName;
+    }
+
+    /*
+     * Build the ChromeOptions for this profile
+     */
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        options.addArguments("--disable-extensions", "--no-first-run", "--no-default-browser-check");
+        if (headless) {
+            options.addArguments("--headless=new", "--disable-gpu", "--disable-dev-shm-usage");
+        }
+        if (viewport != null) {
+            options.addArguments("--window-size=" + viewport.getWidth() + "," + viewport.getHeight());
+        }
+        if (blockImages) {
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        return options;
+    }
+
+    /*
+     * Start Chrome with this profile and record how long the startup took
+     * If setting up the started browser fails, it is quit before the exception is rethrown
+     */
+    public WebDriver start() {
+        long start = System.nanoTime();
+        ChromeDriver driver = new ChromeDriver(toChromeOptions());
+        try {
+            if (viewport == null) {
+                driver.manage().window().maximize();
+            }
+            RequestInterceptor.attach(driver, RequestInterceptor.configuredRules(blockFonts ? FONT_RULES : List.of()));
+        } catch (RuntimeException e) {
+            // Don't leave the browser and its chromedriver running behind a failed start
+            try {
+                driver.quit();
+            } catch (RuntimeException quitFailure) {
+                e.addSuppressed(quitFailure);
+            }
+            throw e;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        synchronized (STARTUP_MILLIS) {
+            STARTUP_MILLIS.computeIfAbsent(this, profile -> new LongSummaryStatistics()).accept(elapsedMillis);
+        }
+        return driver;
+    }
+
+    /*
+     * Startup times per profile used in this run
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Browser startup:");
+        synchronized (STARTUP_MILLIS) {
+            STARTUP_MILLIS.forEach((profile, stats) -> report
+                    .append("\n  ").append(profile.profileName).append(": ")
+                    .append(stats.getCount()).append(" started, avg ")
+                    .append(Math.round(stats.getAverage())).append(" ms, max ")
+                    .append(stats.getMax()).append(" ms"));
+        }
+        return report.toString();
+    }
+}
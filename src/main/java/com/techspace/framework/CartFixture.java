@@ -0,0 +1,209 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Puts an account's cart into an exact state through the app's backend
+ *
+ * Clearing a cart through the UI takes a page load, a click on the cart
+ * icon, another page load and the clear button; seeding it takes a click per
+ * item. The same state is a couple of JSON calls with the session token the
+ * browser already holds (AuthSessionCache), in tens of milliseconds:
+ *
+ *   DELETE {api}/cart                            empty the cart
+ *   POST   {api}/cart/{productId}/quantity       {"quantity": n}
+ *   GET    {api}/products                        product ids by title (cached)
+ *
+ * These endpoints are an assumption: they are what the local stand-in
+ * (-Dtechspace.target=local) serves, and nothing in the app's front end
+ * confirms the live backend has them. Point -Dtechspace.api.url at the real
+ * API, or turn the fixture off, if they differ.
+ *
+ * If a call fails apply() returns false and the caller sets the cart up
+ * through the UI instead; the failure goes to the event log. Only when the
+ * API isn't there at all (404, or an HTML page instead of JSON) does the
+ * fixture turn itself off for the rest of the run, so that only the first
+ * test pays for the attempt. A timeout or a refused cart ("Low stock!")
+ * costs just that one test its shortcut.
+ *
+ *   -Dtechspace.api.fixtures  default true
+ *   -Dtechspace.api.url       default <base URL>/api
+ *   -Dtechspace.api.timeout   seconds per call, default 10
+ */
+public final class CartFixture {
+
+    private static final Json JSON = new Json();
+
+    private final String apiUrl;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    // Product title -> id as the API knows it (number or string, sent back unchanged)
+    private final Map<String, Object> productIds = new ConcurrentHashMap<>();
+
+    // Set once, by the first call that finds no API (or by configuration)
+    private final AtomicReference<String> disabledBecause = new AtomicReference<>();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong appliedNanos = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    private CartFixture(String apiUrl, Duration timeout, boolean enabled) {
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        if (!enabled) {
+            disabledBecause.set("disabled with -Dtechspace.api.fixtures=false");
+        }
+    }
+
+    /*
+     * Fixture for the app at baseUrl, configured from the techspace.api.* settings
+     */
+    public static CartFixture configured(String baseUrl) {
+        String root = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return new CartFixture(
+                Settings.string("techspace.api.url", root + "/api"),
+                Duration.ofSeconds(Settings.integer("techspace.api.timeout", 10)),
+                Settings.flag("techspace.api.fixtures", true));
+    }
+
+    public boolean isEnabled() {
+        return disabledBecause.get() == null;
+    }
+
+    // ============================================
+    // CART STATE
+    // ============================================
+
+    /*
+     * Make the cart of the token's account hold exactly the given lines (product title -> quantity)
+     * An empty map just clears the cart. Returns false if the caller has to use the UI instead.
+     */
+    public boolean apply(String token, Map<String, Integer> lines) {
+        if (!isEnabled() || token == null || token.isEmpty()) {
+            fallbacks.incrementAndGet();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            call("DELETE", "/cart", token, null);
+            for (Map.Entry<String, Integer> line : lines.entrySet()) {
+                String productId = URLEncoder.encode(String.valueOf(productId(line.getKey())), StandardCharsets.UTF_8);
+                call("POST", "/cart/" + productId + "/quantity", token, Map.of("quantity", line.getValue()));
+            }
+        } catch (NoApiException e) {
+            fallbacks.incrementAndGet();
+            if (disabledBecause.compareAndSet(null, e.getMessage())) {
+                EventLog.info("Cart fixtures fall back to the UI for the rest of the run: " + e.getMessage());
+            }
+            return false;
+        } catch (IllegalStateException e) {
+            fallbacks.incrementAndGet();
+            EventLog.info("Cart fixture falls back to the UI for this test: " + e.getMessage());
+            return false;
+        }
+        applied.incrementAndGet();
+        appliedNanos.addAndGet(System.nanoTime() - start);
+        return true;
+    }
+
+    private Object productId(String title) {
+        Object known = productIds.get(title);
+        if (known != null) {
+            return known;
+        }
+        Object products = call("GET", "/products", null, null);
+        if (products instanceof List<?> list) {
+            for (Object product : list) {
+                if (product instanceof Map<?, ?> fields) {
+                    Object id = fields.containsKey("id") ? fields.get("id") : fields.get("_id");
+                    Object name = fields.containsKey("title") ? fields.get("title") : fields.get("name");
+                    if (id != null && name != null) {
+                        productIds.putIfAbsent(name.toString(), id);
+                    }
+                }
+            }
+        }
+        known = productIds.get(title);
+        if (known == null) {
+            throw new IllegalStateException("no product titled '" + title + "' in " + apiUrl + "/products");
+        }
+        return known;
+    }
+
+    // ============================================
+    // HTTP
+    // ============================================
+
+    /*
+     * The URL doesn't serve the cart API at all, as opposed to a call that failed
+     */
+    private static final class NoApiException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        NoApiException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    // Parsed JSON response of a successful call; a missing API is a NoApiException, any other failure an IllegalStateException
+    private Object call(String method, String path, String token, Map<String, Object> body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(apiUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(JSON.toJson(body), StandardCharsets.UTF_8));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(method + " " + apiUrl + path + " failed: "
+                    + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(method + " " + apiUrl + path + " was interrupted", e);
+        }
+        if (response.statusCode() == 404) {
+            throw new NoApiException(method + " " + apiUrl + path + " -> 404", null);
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new IllegalStateException(method + " " + apiUrl + path + " -> " + response.statusCode());
+        }
+        try {
+            return response.body().isBlank() ? null : JSON.toType(response.body(), Object.class);
+        } catch (RuntimeException e) {
+            // An HTML page (the SPA's fallback route) instead of JSON: there is no API at this URL
+            throw new NoApiException(method + " " + apiUrl + path + " did not return JSON", e);
+        }
+    }
+
+    public String report() {
+        long count = applied.get();
+        String reason = disabledBecause.get();
+        return "Cart fixtures: " + count + " carts set through the API"
+                + (count > 0 ? " (avg " + appliedNanos.get() / count / 1_000_000 + " ms)" : "")
+                + ", " + fallbacks.get() + " through the UI"
+                + (reason != null ? " - " + reason : "");
+    }
+}
@@ -0,0 +1,415 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/*
+ * Network requests and console messages of a browser, recorded over the
+ * Chrome DevTools Protocol
+ *
+ * Attached once per browser (TestBase.createDriver) and cleared at the start
+ * of every test, so it holds what the current test caused. Page objects wait
+ * on what the app actually did - "the POST to the cart finished", "the
+ * console logged 'Low stock'" - instead of polling the DOM for its effects,
+ * and a failed request ends the wait at once instead of at the timeout.
+ *
+ * Only raw CDP commands and events are used, so it doesn't depend on the
+ * Chrome version. Browsers without DevTools (other drivers, remote grids
+ * without CDP) get an inactive capture: isActive() is false and the page
+ * objects fall back to polling.
+ *
+ *   -Dtechspace.devtools.enabled   default true
+ *   -Dtechspace.devtools.capacity  requests and messages kept per test, default 2000
+ *
+ * Over capacity the oldest events are dropped, so a chatty test can't starve
+ * the waits on what it causes next.
+ */
+public final class DevToolsCapture {
+
+    private static final DevToolsCapture INACTIVE = new DevToolsCapture(null, 0);
+
+    // A request in flight this long (a long poll, a stuck call) no longer keeps the network busy
+    private static final long STUCK_NANOS = Duration.ofSeconds(5).toNanos();
+
+    // Browser -> its capture (by identity; drivers are unwrapped to the browser in of())
+    private static final Map<WebDriver, DevToolsCapture> CAPTURES = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final DevTools devTools;
+    private final int capacity;
+
+    // Everything below is guarded by "this": CDP events arrive on the connection's thread
+    private long sequence;
+    private final Map<String, Pending> pending = new HashMap<>();
+    private final Deque<Exchange> exchanges = new ArrayDeque<>();
+    private final Deque<ConsoleMessage> console = new ArrayDeque<>();
+    private long dropped;
+    private long lastApiActivityNanos = System.nanoTime() - STUCK_NANOS;
+
+    private DevToolsCapture(DevTools devTools, int capacity) {
+        this.devTools = devTools;
+        this.capacity = capacity;
+    }
+
+    /*
+     * A finished (or failed) request
+     * status is 0 when there was no response; error is null unless the request failed
+     */
+    public record Exchange(long sequence, String method, String url, String type, int status, long bytes,
+                           long millis, String error) {
+
+        public boolean ok() {
+            return error == null && status >= 200 && status < 400;
+        }
+
+        // Blocked on purpose (RequestInterceptor rules), not a problem of the app
+        public boolean blocked() {
+            return error != null && (error.startsWith("blocked") || error.contains("ERR_BLOCKED_BY_CLIENT"));
+        }
+
+        public String describe() {
+            return method + " " + url + " -> " + (error != null ? "failed (" + error + ")" : status)
+                    + ", " + millis + " ms";
+        }
+    }
+
+    /*
+     * A console message or uncaught exception ("error", "warning", "log", ...)
+     */
+    public record ConsoleMessage(long sequence, String level, String text) {
+    }
+
+    // Request seen, response not finished yet
+    private static final class Pending {
+        final long sequence;
+        final String method;
+        final String url;
+        final String type;
+        final double startSeconds;
+        final long startNanos = System.nanoTime();
+        int status;
+
+        Pending(long sequence, String method, String url, String type, double startSeconds) {
+            this.sequence = sequence;
+            this.method = method;
+            this.url = url;
+            this.type = type;
+            this.startSeconds = startSeconds;
+        }
+    }
+
+    // ============================================
+    // ATTACHING
+    // ============================================
+
+    /*
+     * Start capturing on a browser that was just started
+     * Returns the inactive capture if the driver has no DevTools or capturing is disabled
+     */
+    public static DevToolsCapture attach(WebDriver browser) {
+        if (!Settings.flag("techspace.devtools.enabled", true) || !(browser instanceof HasDevTools hasDevTools)) {
+            return INACTIVE;
+        }
+        Optional<DevTools> maybeDevTools;
+        try {
+            maybeDevTools = hasDevTools.maybeGetDevTools();
+        } catch (RuntimeException e) {
+            maybeDevTools = Optional.empty();
+        }
+        if (maybeDevTools.isEmpty()) {
+            return INACTIVE;
+        }
+        DevTools devTools = maybeDevTools.get();
+        DevToolsCapture capture = new DevToolsCapture(devTools, Settings.integer("techspace.devtools.capacity", 2000));
+        try {
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(event("Network.requestWillBeSent"), capture::onRequest);
+            devTools.addListener(event("Network.responseReceived"), capture::onResponse);
+            devTools.addListener(event("Network.loadingFinished"), capture::onFinished);
+            devTools.addListener(event("Network.loadingFailed"), capture::onFailed);
+            devTools.addListener(event("Runtime.consoleAPICalled"), capture::onConsole);
+            devTools.addListener(event("Runtime.exceptionThrown"), capture::onException);
+            devTools.addListener(event("Log.entryAdded"), capture::onLogEntry);
+            capture.send("Network.enable", Map.of());
+            capture.send("Runtime.enable", Map.of());
+            capture.send("Log.enable", Map.of());
+        } catch (RuntimeException e) {
+            EventLog.info("DevTools capture not available, page objects poll instead: " + e.getMessage());
+            return INACTIVE;
+        }
+        CAPTURES.put(browser, capture);
+        return capture;
+    }
+
+    /*
+     * Capture of the browser behind a (wrapped, decorated or confined) driver, or the inactive one
+     */
+    public static DevToolsCapture of(WebDriver driver) {
+        WebDriver browser = browserOf(driver);
+        return browser == null ? INACTIVE : CAPTURES.get(browser);
+    }
+
+    /*
+     * Stop tracking a browser that is being quit
+     */
+    public static void detach(WebDriver driver) {
+        WebDriver browser = browserOf(driver);
+        DevToolsCapture capture = browser == null ? null : CAPTURES.remove(browser);
+        if (capture != null) {
+            try {
+                capture.devTools.clearListeners();
+            } catch (RuntimeException ignored) {
+                // The browser is going away anyway
+            }
+        }
+    }
+
+    // The attached browser behind wrappers (ThreadConfinedDriver, StepTimer's decorator), or null
+    private static WebDriver browserOf(WebDriver driver) {
+        WebDriver current = driver;
+        for (int depth = 0; current != null && depth < 10; depth++) {
+            if (CAPTURES.containsKey(current)) {
+                return current;
+            }
+            current = current instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : null;
+        }
+        return null;
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private void send(String command, Map<String, Object> parameters) {
+        devTools.send(new Command<>(command, parameters));
+    }
+
+    public boolean isActive() {
+        return devTools != null;
+    }
+
+    // ============================================
+    // PER TEST
+    // ============================================
+
+    /*
+     * Forget everything recorded so far (at the start of a test)
+     */
+    public synchronized void clear() {
+        pending.clear();
+        exchanges.clear();
+        console.clear();
+        dropped = 0;
+    }
+
+    /*
+     * Position to look for later events from: take one before the click that causes them
+     */
+    public synchronized long mark() {
+        return sequence;
+    }
+
+    /*
+     * First request after the mark that finished or failed and matches, if any
+     */
+    public synchronized Optional<Exchange> finishedSince(long mark, Predicate<Exchange> matching) {
+        for (Exchange exchange : exchanges) {
+            if (exchange.sequence() > mark && matching.test(exchange)) {
+                return Optional.of(exchange);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * First console message after the mark at the given level containing the text, if any
+     */
+    public synchronized Optional<ConsoleMessage> consoleSince(long mark, String level, String text) {
+        for (ConsoleMessage message : console) {
+            if (message.sequence() > mark && message.level().equals(level) && message.text().contains(text)) {
+                return Optional.of(message);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * Whether the app's API calls have settled: no XHR or fetch in flight
+     * and none started or finished within the quiet period
+     */
+    public synchronized boolean isNetworkIdle(Duration quiet) {
+        long now = System.nanoTime();
+        if (now - lastApiActivityNanos < quiet.toNanos()) {
+            return false;
+        }
+        for (Pending request : pending.values()) {
+            if (isApiCall(request.type) && now - request.startNanos < STUCK_NANOS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isApiCall(String type) {
+        return type.equals("XHR") || type.equals("Fetch");
+    }
+
+    public synchronized List<Exchange> exchanges() {
+        return List.copyOf(exchanges);
+    }
+
+    public synchronized List<ConsoleMessage> console() {
+        return List.copyOf(console);
+    }
+
+    /*
+     * Requests of a given kind to a URL containing the fragment, e.g. ("POST", "/cart")
+     * A null method matches every method except GET
+     */
+    public static Predicate<Exchange> request(String method, String urlFragment) {
+        return exchange -> (method == null ? !exchange.method().equals("GET") : exchange.method().equals(method))
+                && exchange.url().contains(urlFragment);
+    }
+
+    /*
+     * The current test's failed requests and console errors, for the log of a failed test
+     */
+    public synchronized String describeProblems() {
+        StringBuilder problems = new StringBuilder();
+        for (Exchange exchange : exchanges) {
+            if (!exchange.ok() && !exchange.blocked() && !exchange.type().equals("Other")) {
+                problems.append("\n  request ").append(exchange.describe());
+            }
+        }
+        for (ConsoleMessage message : console) {
+            if (message.level().equals("error")) {
+                problems.append("\n  console ").append(message.text());
+            }
+        }
+        if (dropped > 0) {
+            problems.append("\n  (").append(dropped).append(" older events were dropped over capacity)");
+        }
+        return problems.isEmpty() ? "" : "Browser problems during the test:" + problems;
+    }
+
+    // ============================================
+    // CDP EVENTS (package-private so they can be fed directly)
+    // ============================================
+
+    synchronized void onRequest(Map<String, Object> event) {
+        Map<String, Object> request = map(event.get("request"));
+        if (isApiCall(string(event.get("type")))) {
+            lastApiActivityNanos = System.nanoTime();
+        }
+        pending.put(string(event.get("requestId")), new Pending(++sequence, string(request.get("method")),
+                string(request.get("url")), string(event.get("type")), number(event.get("timestamp"))));
+    }
+
+    synchronized void onResponse(Map<String, Object> event) {
+        Pending request = pending.get(string(event.get("requestId")));
+        if (request != null) {
+            request.status = (int) number(map(event.get("response")).get("status"));
+        }
+    }
+
+    synchronized void onFinished(Map<String, Object> event) {
+        finish(event, (long) number(event.get("encodedDataLength")), null);
+    }
+
+    synchronized void onFailed(Map<String, Object> event) {
+        String reason = event.get("blockedReason") != null ? "blocked: " + event.get("blockedReason")
+                : string(event.get("errorText"));
+        finish(event, 0, reason);
+    }
+
+    private void finish(Map<String, Object> event, long bytes, String error) {
+        Pending request = pending.remove(string(event.get("requestId")));
+        if (request == null) {
+            return;
+        }
+        if (isApiCall(request.type)) {
+            lastApiActivityNanos = System.nanoTime();
+        }
+        long millis = Math.round((number(event.get("timestamp")) - request.startSeconds) * 1000);
+        keep(exchanges, new Exchange(request.sequence, request.method, request.url, request.type, request.status,
+                bytes, Math.max(0, millis), error));
+    }
+
+    synchronized void onConsole(Map<String, Object> event) {
+        StringBuilder text = new StringBuilder();
+        Object arguments = event.get("args");
+        if (arguments instanceof List<?> list) {
+            for (Object argument : list) {
+                Map<String, Object> value = map(argument);
+                Object shown = value.containsKey("value") ? value.get("value") : value.get("description");
+                if (shown != null) {
+                    text.append(text.isEmpty() ? "" : " ").append(shown);
+                }
+            }
+        }
+        keep(console, new ConsoleMessage(++sequence, levelOf(string(event.get("type"))), text.toString()));
+    }
+
+    synchronized void onException(Map<String, Object> event) {
+        Map<String, Object> details = map(event.get("exceptionDetails"));
+        Object description = map(details.get("exception")).get("description");
+        keep(console, new ConsoleMessage(++sequence, "error",
+                description != null ? string(description) : string(details.get("text"))));
+    }
+
+    synchronized void onLogEntry(Map<String, Object> event) {
+        Map<String, Object> entry = map(event.get("entry"));
+        keep(console, new ConsoleMessage(++sequence, levelOf(string(entry.get("level"))), string(entry.get("text"))));
+    }
+
+    // console.warn is "warning" in Runtime events; "warn" would never match
+    private static String levelOf(String type) {
+        return type.equals("warn") ? "warning" : type;
+    }
+
+    // Ring buffer over both kinds of events: make room by dropping the oldest one
+    private <T> void keep(Deque<T> events, T item) {
+        if (capacity <= 0) {
+            dropped++;
+            return;
+        }
+        while (exchanges.size() + console.size() >= capacity) {
+            if (console.isEmpty()
+                    || (!exchanges.isEmpty() && exchanges.peekFirst().sequence() < console.peekFirst().sequence())) {
+                exchanges.removeFirst();
+            } else {
+                console.removeFirst();
+            }
+            dropped++;
+        }
+        events.addLast(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
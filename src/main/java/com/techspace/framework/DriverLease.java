@@ -0,0 +1,77 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/*
+ * A browser session leased from the DriverPool
+ * Must be handed back with DriverPool.release() when the test is done
+ *
+ * The session is on the app's origin but the home page isn't loaded for the
+ * lease yet: loadHome() does that, so entries for localStorage (a cached
+ * login) go in before the app starts instead of costing a reload after it.
+ */
+public class DriverLease {
+    private final int id;
+    private final WebDriver driver;
+    private final String homeUrl;
+    private int uses;
+    private boolean homeLoaded;
+
+    DriverLease(int id, WebDriver driver, String homeUrl) {
+        this.id = id;
+        this.driver = driver;
+        this.homeUrl = homeUrl;
+    }
+
+    /*
+     * Get the WebDriver of this session
+     */
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /*
+     * Get the pool-wide id of this session (used in logs)
+     */
+    public int id() {
+        return id;
+    }
+
+    /*
+     * Get how many times this session has been leased, including the current lease
+     */
+    public int uses() {
+        return uses;
+    }
+
+    /*
+     * Load the home URL, unless it has been loaded since the session was leased and there is nothing to seed
+     * Seed entries are written into localStorage first, so the app starts with them (one page load)
+     */
+    public void loadHome(Map<String, String> localStorage) {
+        if (homeLoaded && localStorage.isEmpty()) {
+            return;
+        }
+        if (!localStorage.isEmpty()) {
+            // The page is on the app's origin (see DriverPool), so its storage is the app's
+            ((JavascriptExecutor) driver).executeScript(
+                    "var items = arguments[0];"
+                            + "for (var key in items) { window.localStorage.setItem(key, items[key]); }",
+                    localStorage
+            );
+        }
+        driver.get(homeUrl);
+        homeLoaded = true;
+    }
+
+    void markLeased() {
+        uses++;
+    }
+
+    void markHomeLoaded(boolean loaded) {
+        homeLoaded = loaded;
+    }
+}
@@ -0,0 +1,225 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+ * Bounded pool of warm browser sessions
+ *
+ * Starting Chrome costs more than most of our tests, so sessions are leased
+ * per test instead of created per test. Between leases a session is reset
+ * (cookies, localStorage, sessionStorage) while it stays on the app's origin;
+ * the home URL is loaded for the next test by DriverLease.loadHome, after any
+ * localStorage it should start with. A session is retired after maxUses
+ * leases or when the test that used it failed.
+ */
+public class DriverPool {
+    private final Supplier<WebDriver> factory;
+    private final String homeUrl;
+    private final int maxUses;
+    private final Duration leaseTimeout;
+
+    private final Semaphore capacity;
+    private final LinkedBlockingQueue<DriverLease> idle = new LinkedBlockingQueue<>();
+    private final Set<DriverLease> live = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    // Statistics for sizing the pool
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    // ============================================
+    // CONSTRUCTOR
+    // ============================================
+    public DriverPool(Supplier<WebDriver> factory, String homeUrl, int maxSize, int maxUses, Duration leaseTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1 but was: " + maxSize);
+        }
+        this.factory = factory;
+        this.homeUrl = homeUrl;
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeout = leaseTimeout;
+        this.capacity = new Semaphore(maxSize);
+    }
+
+    // ============================================
+    // LEASING
+    // ============================================
+
+    /*
+     * Lease a clean session on the app's origin (load the home URL with DriverLease.loadHome)
+     * Reuses an idle session, starts a new one while below the size limit,
+     * otherwise blocks until another test releases one
+     */
+    public DriverLease lease() {
+        long start = System.nanoTime();
+        long deadline = start + leaseTimeout.toNanos();
+        DriverLease lease;
+        try {
+            while (true) {
+                lease = idle.poll();
+                if (lease != null) {
+                    reuses.incrementAndGet();
+                    break;
+                }
+                if (capacity.tryAcquire()) {
+                    lease = startSession();
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No browser session became available within " + leaseTimeout
+                            + " (pool size " + live.size() + ")");
+                }
+                lease = idle.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(200)), TimeUnit.NANOSECONDS);
+                if (lease != null) {
+                    reuses.incrementAndGet();
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        leases.incrementAndGet();
+        lease.markLeased();
+        return lease;
+    }
+
+    /*
+     * Hand a session back to the pool
+     * Failed tests and worn-out sessions are quit instead of reused
+     */
+    public void release(DriverLease lease, boolean testFailed) {
+        if (lease == null || !live.contains(lease)) {
+            return;
+        }
+        if (testFailed || lease.uses() >= maxUses) {
+            retire(lease);
+            return;
+        }
+        try {
+            reset(lease);
+            idle.offer(lease);
+        } catch (RuntimeException e) {
+            // A session that cannot be reset is not trusted for the next test
+            retire(lease);
+        }
+    }
+
+    /*
+     * Quit every session (call once at the end of the suite)
+     */
+    public void shutdown() {
+        idle.clear();
+        for (DriverLease lease : live) {
+            retire(lease);
+        }
+    }
+
+    // ============================================
+    // SESSION LIFECYCLE
+    // ============================================
+
+    private DriverLease startSession() {
+        WebDriver driver;
+        try {
+            driver = factory.get();
+            driver.get(homeUrl);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        DriverLease lease = new DriverLease(nextId.incrementAndGet(), driver, homeUrl);
+        lease.markHomeLoaded(true);
+        live.add(lease);
+        created.incrementAndGet();
+        return lease;
+    }
+
+    /*
+     * Wipe all client-side state; the next lease loads the home URL (DriverLease.loadHome)
+     * Storage can only be cleared, and later seeded, from a page on the app's origin
+     */
+    private void reset(DriverLease lease) {
+        WebDriver driver = lease.driver();
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !currentUrl.startsWith(homeUrl)) {
+            driver.get(homeUrl);
+        }
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        lease.markHomeLoaded(false);
+    }
+
+    private void retire(DriverLease lease) {
+        if (!live.remove(lease)) {
+            return;
+        }
+        retired.incrementAndGet();
+        try {
+            DevToolsCapture.detach(lease.driver());
+            lease.driver().quit();
+        } catch (RuntimeException e) {
+            // The browser is gone already, nothing left to clean up
+        } finally {
+            capacity.release();
+        }
+    }
+
+    // ============================================
+    // STATISTICS
+    // ============================================
+
+    public long getLeaseCount() {
+        return leases.get();
+    }
+
+    public long getReuseCount() {
+        return reuses.get();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public Duration getTotalLeaseWait() {
+        return Duration.ofNanos(totalWaitNanos.get());
+    }
+
+    public Duration getMaxLeaseWait() {
+        return Duration.ofNanos(maxWaitNanos.get());
+    }
+
+    /*
+     * One-line summary used to size the pool for CI agents
+     */
+    public String report() {
+        long leaseCount = leases.get();
+        long avgWaitMillis = leaseCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / leaseCount);
+        return "Driver pool: " + leaseCount + " leases, "
+                + reuses.get() + " reused, "
+                + created.get() + " started, "
+                + retired.get() + " retired, "
+                + "lease wait avg " + avgWaitMillis + " ms / max "
+                + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()) + " ms";
+    }
+}
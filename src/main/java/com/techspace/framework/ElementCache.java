@@ -0,0 +1,168 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Per-page cache of resolved elements
+ *
+ * get(locator) hands out one handle per locator. The handle keeps using the
+ * element it found until the browser reports it stale (the page navigated
+ * or re-rendered that part); then it finds the element again with the same
+ * locator and retries the call once. So a cached lookup costs no round-trip,
+ * and a stale one costs only the find it would have cost anyway.
+ *
+ * A page object belongs to one test thread, so the cache itself isn't
+ * synchronized; the hit/miss counters are shared per page for the report.
+ */
+public class ElementCache {
+
+    // Counters per page name, over all sessions
+    private static final Map<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    private final SearchContext context;
+    private final Counters counters;
+    private final Map<By, Handle> handles = new HashMap<>();
+
+    public ElementCache(SearchContext context, String pageName) {
+        this.context = context;
+        this.counters = COUNTERS.computeIfAbsent(pageName, name -> new Counters());
+    }
+
+    /*
+     * Element for the locator: the cached one if any, otherwise found now
+     * Throws NoSuchElementException if it has to be found and isn't there
+     */
+    public WebElement get(By locator) {
+        Handle handle = handles.get(locator);
+        if (handle != null) {
+            counters.hits.increment();
+            return handle.proxy;
+        }
+        WebElement element = find(locator);
+        handle = new Handle(locator, element);
+        handles.put(locator, handle);
+        return handle.proxy;
+    }
+
+    /*
+     * Forget every cached element (e.g. after a navigation the page object caused itself)
+     */
+    public void clear() {
+        handles.clear();
+    }
+
+    private WebElement find(By locator) {
+        try {
+            WebElement element = context.findElement(locator);
+            counters.misses.increment();
+            return element;
+        } catch (NoSuchElementException e) {
+            counters.notFound.increment();
+            throw e;
+        }
+    }
+
+    // ============================================
+    // STALE-SAFE HANDLE
+    // ============================================
+
+    private final class Handle implements InvocationHandler {
+        final By locator;
+        final WebElement proxy;
+        WebElement element;
+
+        Handle(By locator, WebElement element) {
+            this.locator = locator;
+            this.element = element;
+            this.proxy = (WebElement) Proxy.newProxyInstance(ElementCache.class.getClassLoader(),
+                    new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getWrappedElement":
+                    return element;
+                case "equals":
+                    return args[0] == proxy || element.equals(args[0]);
+                case "hashCode":
+                    return element.hashCode();
+                case "toString":
+                    return "Cached[" + locator + "] " + element;
+                default:
+                    break;
+            }
+            try {
+                return call(method, args);
+            } catch (StaleElementReferenceException e) {
+                // Replaced in the DOM since we found it: find it again and retry once
+                counters.staleRecoveries.increment();
+                try {
+                    element = find(locator);
+                } catch (NoSuchElementException gone) {
+                    handles.remove(locator);
+                    throw gone;
+                }
+                return call(method, args);
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // ============================================
+    // STATISTICS
+    // ============================================
+
+    private static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder staleRecoveries = new LongAdder();
+        final LongAdder notFound = new LongAdder();
+    }
+
+    /*
+     * Cache hits and finds per page
+     * A hit saves a findElement, unless the handle turned out stale and had
+     * to find the element again. Finds that came up empty (a wait polling
+     * for an element that isn't rendered yet) are listed on their own.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Element cache:");
+        COUNTERS.forEach((page, counters) -> {
+            long hits = counters.hits.sum();
+            long found = counters.misses.sum();
+            long stale = counters.staleRecoveries.sum();
+            long saved = Math.max(0, hits - stale);
+            long resolved = saved + found;
+            report.append("\n  ").append(page).append(": ")
+                    .append(hits).append(" hits, ")
+                    .append(found).append(" found fresh (").append(stale).append(" after stale), ")
+                    .append(counters.notFound.sum()).append(" not found yet, ")
+                    .append(saved).append(" round-trips saved (")
+                    .append(resolved == 0 ? 0 : Math.round(100.0 * saved / resolved)).append("% of resolved lookups)");
+        });
+        return report.toString();
+    }
+}
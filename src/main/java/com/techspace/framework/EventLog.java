@@ -0,0 +1,277 @@
+package com.techspace.framework;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Structured test-event log, one JSON object per line
+ *
+ *   {"ts":1760000000000,"thread":"TestNG-1","test":"CartTest.testIncreaseProductQuantity",
+ *    "type":"action","name":"CartPage.increaseQuantity","outcome":"ok","us":65231}
+ *
+ * type is test-start, test-end, action (a timed page-object step), step
+ * (a test's narration) or info. Test threads only put events into a
+ * lock-free ring buffer; a single background thread formats them and writes
+ * the file, so logging never blocks a test on I/O or on another test. If
+ * the buffer is full the event is dropped and counted rather than waited for.
+ *
+ *   -Dtechspace.events.file      default target/test-events.jsonl
+ *   -Dtechspace.events.capacity  ring buffer slots, default 8192
+ *   -Dtechspace.events.console   also print step messages to stdout, default false
+ */
+public final class EventLog {
+
+    private static final boolean CONSOLE = Settings.flag("techspace.events.console", false);
+
+    private static volatile EventLog instance;
+    private static volatile boolean closed;
+
+    private final Path file;
+    private final RingBuffer buffer;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private final AtomicLong dropped = new AtomicLong();
+    private long written;
+
+    private EventLog(Path file, int capacity) {
+        this.file = file;
+        this.buffer = new RingBuffer(capacity);
+        this.writerThread = new Thread(this::drain, "event-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    // The log of this run, or null once it has been closed (locks only to create it)
+    private static EventLog get() {
+        EventLog log = instance;
+        if (log != null || closed) {
+            return log;
+        }
+        synchronized (EventLog.class) {
+            if (instance == null && !closed) {
+                instance = new EventLog(
+                        Path.of(Settings.string("techspace.events.file", "target/test-events.jsonl")),
+                        Settings.integer("techspace.events.capacity", 8192));
+            }
+            return instance;
+        }
+    }
+
+    // ============================================
+    // EVENTS
+    // ============================================
+
+    // Package-private, as is format, so the benchmarks can call it directly
+    record Event(long epochMillis, String thread, String test, String type, String name,
+                         String outcome, long micros, String message) {
+    }
+
+    /*
+     * Record an event of the test running on the current thread
+     * micros < 0 means "no duration"
+     */
+    public static void record(String type, String name, String outcome, long micros, String message) {
+        EventLog log = get();
+        if (log == null) {
+            return;
+        }
+        Event event = new Event(System.currentTimeMillis(), Thread.currentThread().getName(),
+                StepTimer.currentTest(), type, name, outcome, micros, message);
+        if (!log.buffer.offer(event)) {
+            log.dropped.incrementAndGet();
+        }
+    }
+
+    /*
+     * A line of a test's narration ("✓ User logged in")
+     */
+    public static void step(String message) {
+        record("step", null, null, -1, message);
+        if (CONSOLE) {
+            System.out.println(message);
+        }
+    }
+
+    /*
+     * Something worth keeping that isn't a test step (screenshot saved, session recycled, ...)
+     */
+    public static void info(String message) {
+        record("info", null, null, -1, message);
+    }
+
+    /*
+     * Write out everything still buffered and stop the writer
+     * Returns a one-line summary
+     */
+    public static String close() {
+        synchronized (EventLog.class) {
+            return closeInstance();
+        }
+    }
+
+    private static String closeInstance() {
+        if (instance == null) {
+            return "Event log: nothing recorded";
+        }
+        EventLog log = instance;
+        instance = null;
+        closed = true;
+        log.running = false;
+        LockSupport.unpark(log.writerThread);
+        try {
+            log.writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "Event log: " + log.written + " events written to " + log.file.toAbsolutePath()
+                + ", " + log.dropped.get() + " dropped (buffer full)";
+    }
+
+    // ============================================
+    // WRITER THREAD
+    // ============================================
+
+    private void drain() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                StringBuilder line = new StringBuilder(256);
+                boolean dirty = false;
+                while (true) {
+                    Event event = buffer.poll();
+                    if (event != null) {
+                        line.setLength(0);
+                        format(event, line);
+                        out.append(line).append('\n');
+                        written++;
+                        dirty = true;
+                    } else if (!running) {
+                        break;
+                    } else {
+                        // Idle: make what we have visible, then back off briefly
+                        if (dirty) {
+                            out.flush();
+                            dirty = false;
+                        }
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write event log " + file, e);
+        }
+    }
+
+    static void format(Event event, StringBuilder line) {
+        line.append("{\"ts\":").append(event.epochMillis);
+        field(line, "thread", event.thread);
+        field(line, "test", event.test);
+        field(line, "type", event.type);
+        field(line, "name", event.name);
+        field(line, "outcome", event.outcome);
+        if (event.micros >= 0) {
+            line.append(",\"us\":").append(event.micros);
+        }
+        field(line, "msg", event.message);
+        line.append('}');
+    }
+
+    private static void field(StringBuilder line, String key, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(key).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    // ============================================
+    // RING BUFFER
+    // ============================================
+
+    /*
+     * Bounded multi-producer, single-consumer queue without locks
+     *
+     * Every slot carries a sequence number. A producer claims position p by
+     * CAS on the tail when slot p's sequence equals p, stores the event and
+     * publishes it by setting the sequence to p + 1. The consumer takes slot
+     * p once its sequence is p + 1 and frees it by setting p + capacity.
+     */
+    private static final class RingBuffer {
+        private final AtomicReferenceArray<Event> slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private long head; // consumer thread only
+
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            slots = new AtomicReferenceArray<>(capacity);
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            mask = capacity - 1;
+        }
+
+        boolean offer(Event event) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.lazySet(index, event);
+                        sequences.lazySet(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    // Slot still holds an event from one lap ago: full
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        Event poll() {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            Event event = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            return event;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.techspace.framework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Orders test units so a broken build reports its failures first
+ *
+ * From TestHistory, in this order:
+ *   1. units that failed in their last run
+ *   2. units that failed in one of their recent runs (flaky or just fixed)
+ *   3. new units, without history
+ *   4. the rest
+ * and within each group the fastest first. A test method with data-provider
+ * rows ranks as its best row, with the time of all its rows.
+ */
+public final class FailFastOrder {
+
+    public record Rank(int group, long millis) implements Comparable<Rank> {
+
+        static final int FAILED_LAST_RUN = 0;
+        static final int FAILED_RECENTLY = 1;
+        static final int NEW = 2;
+        static final int PASSING = 3;
+
+        @Override
+        public int compareTo(Rank other) {
+            return group != other.group ? Integer.compare(group, other.group) : Long.compare(millis, other.millis);
+        }
+    }
+
+    private final TestHistory history;
+    private final long newUnitMillis;
+
+    private FailFastOrder(TestHistory history, long newUnitMillis) {
+        this.history = history;
+        this.newUnitMillis = newUnitMillis;
+    }
+
+    /*
+     * Order for the given units; new ones count as the median duration of the others
+     */
+    public static FailFastOrder of(TestHistory history, Collection<String> units) {
+        List<Long> known = new ArrayList<>();
+        for (String unit : units) {
+            history.averageMillis(unit).ifPresent(known::add);
+        }
+        known.sort(null);
+        return new FailFastOrder(history, known.isEmpty() ? ShardPlan.DEFAULT_ESTIMATE_MILLIS : known.get(known.size() / 2));
+    }
+
+    /*
+     * Rank of one unit
+     */
+    public Rank rank(String unit) {
+        String recent = history.recentOutcomes(unit);
+        long millis = history.averageMillis(unit).orElse(newUnitMillis);
+        if (recent.isEmpty()) {
+            return new Rank(history.averageMillis(unit).isPresent() ? Rank.PASSING : Rank.NEW, millis);
+        }
+        if (recent.charAt(recent.length() - 1) == 'F') {
+            return new Rank(Rank.FAILED_LAST_RUN, millis);
+        }
+        return new Rank(recent.indexOf('F') >= 0 ? Rank.FAILED_RECENTLY : Rank.PASSING, millis);
+    }
+
+    /*
+     * Rank of a test method made of several units (its data-provider rows)
+     */
+    public Rank rank(Collection<String> units) {
+        int group = Rank.PASSING;
+        long millis = 0;
+        for (String unit : units) {
+            Rank rank = rank(unit);
+            group = Math.min(group, rank.group());
+            millis += rank.millis();
+        }
+        return new Rank(group, millis);
+    }
+
+    /*
+     * How many of the units fall into the failing groups, for the run log
+     */
+    public String describe(Collection<String> units) {
+        int failedLastRun = 0;
+        int failedRecently = 0;
+        int fresh = 0;
+        for (String unit : units) {
+            switch (rank(unit).group()) {
+                case Rank.FAILED_LAST_RUN -> failedLastRun++;
+                case Rank.FAILED_RECENTLY -> failedRecently++;
+                case Rank.NEW -> fresh++;
+                default -> {
+                }
+            }
+        }
+        return "Fail-fast order: " + failedLastRun + " units that failed last run, " + failedRecently
+                + " that failed recently and " + fresh + " new ones first, then the rest, fastest first";
+    }
+}
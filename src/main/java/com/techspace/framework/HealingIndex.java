@@ -0,0 +1,290 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * Fingerprints of the elements Locators found, used to heal broken locators
+ *
+ * The first time a Locator finds its element in a run, the element's tag,
+ * text, attributes, position and neighbours are read with one script call
+ * and kept per host. When every strategy of a Locator has kept missing for
+ * the grace period, one script scores the page's elements of the same tag
+ * against the fingerprint and the best match above the threshold is used
+ * instead, so the test goes on after the grace period instead of failing
+ * after the full wait timeout. Every heal is logged and listed in the
+ * report: it means the locator's strategies need updating. Once a locator
+ * has been healed in a run, later misses heal without the grace period.
+ *
+ * Presence and absence checks run withoutHealing, or a look-alike would
+ * count as present; WaitEngine.isPresentWithin/isAbsentWithin and
+ * BasePage.isShown already do.
+ *
+ *   -Dtechspace.healing.enabled    default true
+ *   -Dtechspace.healing.file       default target/healing-index.properties
+ *   -Dtechspace.healing.graceMs    default 2000
+ *   -Dtechspace.healing.threshold  minimum match score in percent, default 60
+ */
+public final class HealingIndex {
+
+    // A miss later than this after the previous one starts a new streak (a different wait)
+    private static final long STREAK_GAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Attributes worth comparing; everything else is too volatile
+    private static final String COMMON_SCRIPT =
+            "function text(node) {"
+                    + "  return node ? (node.innerText || node.textContent || '').replace(/\\s+/g, ' ').trim().slice(0, 80) : '';"
+                    + "}"
+                    + "function describe(node) { return node ? node.tagName.toLowerCase() + ':' + text(node) : ''; }"
+                    + "var ATTRIBUTES = ['id', 'name', 'type', 'role', 'aria-label', 'placeholder', 'href', 'data-testid', 'class'];";
+
+    // arguments: element; returns its fingerprint as JSON
+    private static final String FINGERPRINT_SCRIPT = COMMON_SCRIPT
+            + "var element = arguments[0], attributes = {}, box = element.getBoundingClientRect();"
+            + "ATTRIBUTES.forEach(function (name) {"
+            + "  var value = element.getAttribute(name);"
+            + "  if (value) { attributes[name] = value; }"
+            + "});"
+            + "return JSON.stringify({"
+            + "  tag: element.tagName.toLowerCase(), text: text(element), attributes: attributes,"
+            + "  x: Math.round(box.left), y: Math.round(box.top),"
+            + "  parent: element.parentElement ? element.parentElement.tagName.toLowerCase() : '',"
+            + "  previous: describe(element.previousElementSibling), next: describe(element.nextElementSibling)"
+            + "});";
+
+    // arguments: fingerprint JSON, threshold (0..1); returns [element, score] of the best
+    // unambiguous match or null
+    private static final String HEAL_SCRIPT = COMMON_SCRIPT
+            + "var print = JSON.parse(arguments[0]), threshold = arguments[1];"
+            + "function score(element) {"
+            + "  var total = 0, max = 0;"
+            + "  function add(weight, matches) { max += weight; if (matches) { total += weight; } }"
+            + "  if (print.text) { add(3, text(element) === print.text); }"
+            + "  Object.keys(print.attributes).forEach(function (name) {"
+            + "    add(name === 'class' || name === 'type' || name === 'role' ? 1 : 3,"
+            + "        element.getAttribute(name) === print.attributes[name]);"
+            + "  });"
+            + "  add(1, (element.parentElement ? element.parentElement.tagName.toLowerCase() : '') === print.parent);"
+            + "  if (print.previous) { add(1, describe(element.previousElementSibling) === print.previous); }"
+            + "  if (print.next) { add(1, describe(element.nextElementSibling) === print.next); }"
+            + "  var box = element.getBoundingClientRect();"
+            + "  add(1, Math.abs(box.left - print.x) + Math.abs(box.top - print.y) < 50);"
+            + "  return max === 0 ? 0 : total / max;"
+            + "}"
+            + "var best = null, bestScore = 0, secondScore = 0, candidates = document.getElementsByTagName(print.tag);"
+            + "for (var i = 0; i < candidates.length; i++) {"
+            + "  var candidateScore = score(candidates[i]);"
+            + "  if (candidateScore > bestScore) { secondScore = bestScore; bestScore = candidateScore; best = candidates[i]; }"
+            + "  else if (candidateScore > secondScore) { secondScore = candidateScore; }"
+            + "}"
+            + "return best && bestScore >= threshold && bestScore > secondScore ? [best, bestScore] : null;";
+
+    private static volatile HealingIndex current = new HealingIndex(null, "default", false, 0, 1);
+
+    private static final ThreadLocal<Boolean> SUSPENDED = ThreadLocal.withInitial(() -> false);
+
+    // Per thread: locator -> {first miss, last miss} of its current missing streak
+    private static final ThreadLocal<Map<String, long[]>> STREAKS = ThreadLocal.withInitial(HashMap::new);
+
+    private final Path file;
+    private final String host;
+    private final boolean enabled;
+    private final long graceNanos;
+    private final double threshold;
+    private final Properties fingerprints = new Properties();
+    private final Set<String> fingerprintedThisRun = ConcurrentHashMap.newKeySet();
+    private final Map<String, Heals> heals = new ConcurrentHashMap<>();
+    private final LongAdder fingerprintNanos = new LongAdder();
+
+    private HealingIndex(Path file, String host, boolean enabled, long graceMillis, double threshold) {
+        this.file = file;
+        this.host = host;
+        this.enabled = enabled;
+        this.graceNanos = TimeUnit.MILLISECONDS.toNanos(graceMillis);
+        this.threshold = threshold;
+    }
+
+    /*
+     * Load the index of the application at baseUrl and use it for all Locators from now on
+     */
+    public static HealingIndex load(String baseUrl) {
+        HealingIndex index = new HealingIndex(
+                Path.of(Settings.string("techspace.healing.file", "target/healing-index.properties")),
+                URI.create(baseUrl).getHost(),
+                Settings.flag("techspace.healing.enabled", true),
+                Settings.integer("techspace.healing.graceMs", 2000),
+                Settings.integer("techspace.healing.threshold", 60) / 100.0);
+        if (index.enabled && Files.isRegularFile(index.file)) {
+            try (Reader in = Files.newBufferedReader(index.file, StandardCharsets.UTF_8)) {
+                index.fingerprints.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read healing index " + index.file, e);
+            }
+        }
+        current = index;
+        return index;
+    }
+
+    static HealingIndex current() {
+        return current;
+    }
+
+    /*
+     * Run a lookup that must not be healed (e.g. checking that something is absent)
+     */
+    public static <T> T withoutHealing(Supplier<T> lookup) {
+        boolean outer = SUSPENDED.get();
+        SUSPENDED.set(true);
+        try {
+            return lookup.get();
+        } finally {
+            SUSPENDED.set(outer);
+        }
+    }
+
+    // ============================================
+    // RECORDING AND HEALING
+    // ============================================
+
+    /*
+     * A Locator found its element: end its missing streak, fingerprint it once per run
+     */
+    void found(String locator, SearchContext context, WebElement element) {
+        if (!enabled) {
+            return;
+        }
+        STREAKS.get().remove(locator);
+        if (context instanceof JavascriptExecutor executor && fingerprintedThisRun.add(locator)) {
+            long start = System.nanoTime();
+            Object fingerprint = executor.executeScript(FINGERPRINT_SCRIPT, element);
+            fingerprintNanos.add(System.nanoTime() - start);
+            if (fingerprint instanceof String json) {
+                fingerprints.setProperty(key(locator), json);
+            }
+        }
+    }
+
+    /*
+     * Every strategy of a Locator missed: the healed element once the grace period is over, else nothing
+     */
+    List<WebElement> missed(String locator, SearchContext context) {
+        if (!enabled || SUSPENDED.get() || !(context instanceof JavascriptExecutor executor)) {
+            return List.of();
+        }
+        String fingerprint = fingerprints.getProperty(key(locator));
+        if (fingerprint == null) {
+            return List.of();
+        }
+        long now = System.nanoTime();
+        long[] streak = STREAKS.get().get(locator);
+        if (streak == null || now - streak[1] > STREAK_GAP_NANOS) {
+            streak = new long[]{now, now};
+            STREAKS.get().put(locator, streak);
+        }
+        streak[1] = now;
+        boolean healedBefore = heals.containsKey(locator);
+        if (!healedBefore && now - streak[0] < graceNanos) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        Object result = executor.executeScript(HEAL_SCRIPT, fingerprint, threshold);
+        long healNanos = System.nanoTime() - start;
+        if (!(result instanceof List<?> match) || match.size() != 2 || !(match.get(0) instanceof WebElement element)) {
+            return List.of();
+        }
+        double score = ((Number) match.get(1)).doubleValue();
+        heals.computeIfAbsent(locator, name -> new Heals()).add(score, healNanos);
+        STREAKS.get().remove(locator);
+        EventLog.info("Healed " + locator + " (match " + Math.round(score * 100) + "%, "
+                + TimeUnit.NANOSECONDS.toMillis(now - streak[0]) + " ms after its first miss); update its strategies");
+        return List.of(element);
+    }
+
+    private String key(String locator) {
+        return host + "|" + locator;
+    }
+
+    private static final class Heals {
+        long count;
+        double lowestScore = 1;
+        long nanos;
+
+        synchronized void add(double score, long healNanos) {
+            count++;
+            lowestScore = Math.min(lowestScore, score);
+            nanos += healNanos;
+        }
+
+        synchronized String describe() {
+            return count + "x, lowest match " + Math.round(lowestScore * 100) + "%, avg "
+                    + TimeUnit.NANOSECONDS.toMillis(nanos / count) + " ms to heal";
+        }
+    }
+
+    // ============================================
+    // PERSISTENCE AND REPORT
+    // ============================================
+
+    /*
+     * Write the index back, keeping the fingerprints of other hosts and of locators not used this run
+     */
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                fingerprints.store(out, "Element fingerprints per host|locator, for healing broken locators");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            EventLog.info("Could not save healing index " + file + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * Fingerprints taken and every locator that had to be healed
+     */
+    public String report() {
+        if (!enabled) {
+            return "Locator healing: disabled";
+        }
+        int taken = fingerprintedThisRun.size();
+        StringBuilder report = new StringBuilder("Locator healing (" + host + "): ")
+                .append(fingerprints.size()).append(" fingerprints in ").append(file).append(", ")
+                .append(taken).append(" taken this run (avg ")
+                .append(taken == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(fingerprintNanos.sum() / taken)).append(" ms), ")
+                .append(heals.size()).append(" locators healed");
+        heals.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .forEach(entry -> report.append("\n  HEALED ").append(entry.getKey()).append(": ")
+                        .append(entry.getValue().describe()).append(" - its strategies no longer match"));
+        return report.toString();
+    }
+}
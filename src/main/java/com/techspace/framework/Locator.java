@@ -0,0 +1,186 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Locator with several ranked ways to find the same element
+ *
+ *   By checkoutButton = Locator.named("CartPage.checkoutButton")
+ *           .knownXpath("//*[@id=\"root\"]/div/div[2]/div[2]/button")
+ *           .text("button", "Checkout");
+ *
+ * Strategies are declared most trusted first: the page's known XPath, then
+ * alternatives (test id, ARIA label or role, visible text, CSS) that may be
+ * faster or survive a layout change. A lookup tries them in the order the
+ * LocatorMap has learned works fastest for this element, so normally only
+ * one findElements is sent; when that one comes up empty the next is tried,
+ * and a layout change that breaks one strategy no longer breaks the test.
+ * When all of them keep missing, the HealingIndex may stand in with the
+ * element's last known fingerprint.
+ *
+ * Strategies are held to the element, not just to matching something: when
+ * two of them find different elements, the one declared first wins and the
+ * other is demoted, so a broad selector can't take over from a precise one.
+ * A strategy is only demoted for a miss when it is asked again right after
+ * another strategy found the element (it may just have rendered in between).
+ *
+ * Not a By.Remotable on purpose: the driver would then send only one
+ * strategy to the browser instead of asking this class.
+ */
+public final class Locator extends By {
+
+    private final String name;
+    private final List<Strategy> strategies = new ArrayList<>();
+
+    private Locator(String name) {
+        this.name = name;
+    }
+
+    /*
+     * Start a locator; the name ("Page.element") is its key in the locator map
+     */
+    public static Locator named(String name) {
+        return new Locator(name);
+    }
+
+    // ============================================
+    // STRATEGIES (declare most trusted first)
+    // ============================================
+
+    /*
+     * XPath, usually the page's known absolute path from #root
+     */
+    public Locator knownXpath(String expression) {
+        return add("xpath", By.xpath(expression));
+    }
+
+    /*
+     * data-testid attribute
+     */
+    public Locator testId(String testId) {
+        return add("test-id", By.cssSelector("[data-testid='" + testId + "']"));
+    }
+
+    /*
+     * Element with this tag and aria-label
+     */
+    public Locator label(String tag, String ariaLabel) {
+        return add("aria", By.cssSelector(tag + "[aria-label='" + ariaLabel + "']"));
+    }
+
+    /*
+     * Element with this ARIA role and visible text
+     */
+    public Locator role(String role, String text) {
+        return add("role", By.xpath("//*[@role='" + role + "'][normalize-space()='" + text + "']"));
+    }
+
+    /*
+     * Element with this tag and visible text
+     */
+    public Locator text(String tag, String text) {
+        return add("text", By.xpath("//" + tag + "[normalize-space()='" + text + "']"));
+    }
+
+    public Locator css(String selector) {
+        return add("css", By.cssSelector(selector));
+    }
+
+    private Locator add(String kind, By by) {
+        strategies.add(new Strategy(kind, by));
+        return this;
+    }
+
+    /*
+     * One way of finding the element; description() is its key in the locator map
+     */
+    public record Strategy(String kind, By by) {
+        public String description() {
+            String value = by.toString();
+            return kind + ": " + value.substring(value.indexOf(':') + 2);
+        }
+    }
+
+    // ============================================
+    // LOOKUP
+    // ============================================
+
+    public String getName() {
+        return name;
+    }
+
+    /*
+     * The strategies as plain locators, preferred first
+     * For code that evaluates locators in the browser itself (one script call)
+     */
+    public List<By> candidates() {
+        return LocatorMap.current().entry(name, strategies).ranked().stream().map(Strategy::by).toList();
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        LocatorMap.Entry entry = LocatorMap.current().entry(name, strategies);
+        List<Strategy> ranked = entry.ranked();
+        for (int i = 0; i < ranked.size(); i++) {
+            Strategy strategy = ranked.get(i);
+            long start = System.nanoTime();
+            List<WebElement> found = context.findElements(strategy.by());
+            long elapsed = System.nanoTime() - start;
+            if (found.isEmpty()) {
+                entry.missed(strategy, elapsed);
+                continue;
+            }
+            entry.found(strategy, elapsed, i > 0);
+            Hit hit = new Hit(strategy, found);
+            // The strategies that missed before may only have missed an element that rendered since
+            for (Strategy earlier : ranked.subList(0, i)) {
+                hit = crossCheck(context, entry, hit, earlier);
+            }
+            if (entry.shouldProbe()) {
+                for (Strategy later : ranked.subList(i + 1, ranked.size())) {
+                    hit = crossCheck(context, entry, hit, later);
+                }
+            }
+            HealingIndex.current().found(name, context, hit.elements().get(0));
+            return hit.elements();
+        }
+        entry.notFound();
+        return HealingIndex.current().missed(name, context);
+    }
+
+    // The most trusted strategy of a lookup that found something so far, and what it found
+    private record Hit(Strategy strategy, List<WebElement> elements) {
+    }
+
+    /*
+     * Evaluate another strategy now that the hit proved the element is there
+     * A miss demotes it; finding a different element demotes whichever of the two was declared later
+     */
+    private Hit crossCheck(SearchContext context, LocatorMap.Entry entry, Hit hit, Strategy other) {
+        long start = System.nanoTime();
+        List<WebElement> found = context.findElements(other.by());
+        long elapsed = System.nanoTime() - start;
+        if (found.isEmpty()) {
+            entry.lost(other, elapsed);
+        } else if (found.get(0).equals(hit.elements().get(0))) {
+            entry.agreed(other, elapsed);
+        } else {
+            Strategy demoted = strategies.indexOf(other) < strategies.indexOf(hit.strategy()) ? hit.strategy() : other;
+            entry.disagreed(other, elapsed, demoted);
+            if (demoted != other) {
+                return new Hit(other, found);
+            }
+        }
+        return hit;
+    }
+
+    @Override
+    public String toString() {
+        return "By.locator: " + name;
+    }
+}
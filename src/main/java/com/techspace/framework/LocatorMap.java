@@ -0,0 +1,322 @@
+package com.techspace.framework;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * What every Locator has learned about its strategies, per host
+ *
+ * For each strategy it keeps how often it found the element, whether it is
+ * "lost" (it missed the element while another strategy had just found it,
+ * or found a different element than a strategy declared before it, see
+ * Locator), and a moving average of its evaluation time. Lookups try
+ * working strategies fastest first, then untested ones in declared order,
+ * then lost ones. To find out whether a later strategy is faster and still
+ * finds the same element, a lookup now and then also evaluates the
+ * strategies it didn't need (a probe): always while some strategy is
+ * untested, then every probeEvery-th lookup.
+ *
+ * The map is loaded at the start of the run and saved at the end, so the
+ * next run starts with the fastest strategy straight away. Entries are
+ * keyed by host (not port: the local stand-in gets a new port every run).
+ *
+ *   -Dtechspace.locators.file        default target/locator-map.properties
+ *   -Dtechspace.locators.probeEvery  default 50 lookups, 0 = only while learning
+ */
+public final class LocatorMap {
+
+    // Weight of the newest sample in the moving average
+    private static final double SMOOTHING = 0.2;
+
+    private static volatile LocatorMap current = new LocatorMap(null, "default", 0);
+
+    private final Path file;
+    private final String host;
+    private final int probeEvery;
+    private final Properties saved = new Properties();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private LocatorMap(Path file, String host, int probeEvery) {
+        this.file = file;
+        this.host = host;
+        this.probeEvery = probeEvery;
+    }
+
+    /*
+     * Load the map of the application at baseUrl and use it for all Locators from now on
+     */
+    public static LocatorMap load(String baseUrl) {
+        LocatorMap map = new LocatorMap(
+                Path.of(Settings.string("techspace.locators.file", "target/locator-map.properties")),
+                URI.create(baseUrl).getHost(),
+                Settings.integer("techspace.locators.probeEvery", 50));
+        if (Files.isRegularFile(map.file)) {
+            try (Reader in = Files.newBufferedReader(map.file, StandardCharsets.UTF_8)) {
+                map.saved.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read locator map " + map.file, e);
+            }
+        }
+        current = map;
+        return map;
+    }
+
+    static LocatorMap current() {
+        return current;
+    }
+
+    Entry entry(String locator, List<Locator.Strategy> strategies) {
+        Entry entry = entries.get(locator);
+        return entry != null ? entry : entries.computeIfAbsent(locator, name -> new Entry(name, strategies));
+    }
+
+    // ============================================
+    // PER-LOCATOR STATISTICS
+    // ============================================
+
+    /*
+     * Strategies of one locator; all methods lock the entry, lookups of one element are rare enough
+     */
+    final class Entry {
+        private final String locator;
+        private final Map<Locator.Strategy, Stats> stats = new LinkedHashMap<>();
+        private long lookups;
+        private long fallbacks;
+        private long notFound;
+        private long probes;
+
+        private Entry(String locator, List<Locator.Strategy> strategies) {
+            this.locator = locator;
+            int rank = 0;
+            for (Locator.Strategy strategy : strategies) {
+                stats.put(strategy, Stats.parse(rank++, saved.getProperty(key(strategy))));
+            }
+        }
+
+        private String key(Locator.Strategy strategy) {
+            return host + "|" + locator + "|" + strategy.description();
+        }
+
+        /*
+         * Strategies in the order a lookup should try them
+         */
+        synchronized List<Locator.Strategy> ranked() {
+            List<Locator.Strategy> ranked = new ArrayList<>(stats.keySet());
+            ranked.sort(Comparator.comparingInt((Locator.Strategy strategy) -> stats.get(strategy).group())
+                    .thenComparingDouble(strategy -> stats.get(strategy).sortTime())
+                    .thenComparingInt(strategy -> stats.get(strategy).rank));
+            return ranked;
+        }
+
+        synchronized void found(Locator.Strategy strategy, long nanos, boolean fellBack) {
+            lookups++;
+            stats.get(strategy).found(nanos);
+            if (fellBack) {
+                fallbacks++;
+            }
+        }
+
+        synchronized void missed(Locator.Strategy strategy, long nanos) {
+            stats.get(strategy).missed(nanos);
+        }
+
+        // Every strategy missed: the element isn't there (yet), nobody lost
+        synchronized void notFound() {
+            lookups++;
+            notFound++;
+        }
+
+        synchronized boolean shouldProbe() {
+            boolean learning = stats.values().stream().anyMatch(Stats::untested);
+            return learning || (probeEvery > 0 && lookups % probeEvery == 0);
+        }
+
+        // Cross-checked against a strategy that found the element: found the same one
+        synchronized void agreed(Locator.Strategy strategy, long nanos) {
+            probes++;
+            stats.get(strategy).found(nanos);
+        }
+
+        // Cross-checked against a strategy that found the element: missed it
+        synchronized void lost(Locator.Strategy strategy, long nanos) {
+            probes++;
+            Stats strategyStats = stats.get(strategy);
+            strategyStats.missed(nanos);
+            strategyStats.lost = true;
+        }
+
+        // Cross-checked and found a different element: the one of the two declared later is demoted
+        synchronized void disagreed(Locator.Strategy strategy, long nanos, Locator.Strategy demoted) {
+            probes++;
+            if (strategy == demoted) {
+                stats.get(strategy).evaluated(nanos);
+            } else {
+                stats.get(strategy).found(nanos);
+            }
+            Stats demotedStats = stats.get(demoted);
+            demotedStats.disagreed++;
+            demotedStats.lost = true;
+        }
+
+        synchronized void save(Properties target) {
+            stats.forEach((strategy, strategyStats) -> target.setProperty(key(strategy), strategyStats.format()));
+        }
+
+        synchronized void describe(StringBuilder report) {
+            report.append("\n  ").append(locator).append(": ")
+                    .append(lookups).append(" lookups, ")
+                    .append(fallbacks).append(" fell back, ")
+                    .append(notFound).append(" not found, ")
+                    .append(probes).append(" cross-checks");
+            List<Locator.Strategy> ranked = ranked();
+            for (Locator.Strategy strategy : ranked) {
+                report.append("\n    ").append(strategy == ranked.get(0) ? "* " : "  ")
+                        .append(strategy.description()).append(" - ")
+                        .append(stats.get(strategy).describe());
+            }
+        }
+    }
+
+    /*
+     * One strategy of one locator; found/missed/averageNanos carry over between runs
+     */
+    private static final class Stats {
+        final int rank;
+        long found;
+        long missed;
+        double averageNanos;
+        boolean lost;
+
+        // This run only
+        long disagreed;
+        long evaluations;
+        long evaluationNanos;
+
+        private Stats(int rank) {
+            this.rank = rank;
+        }
+
+        // Saved form: "found missed averageMicros lost"
+        static Stats parse(int rank, String saved) {
+            Stats stats = new Stats(rank);
+            if (saved != null) {
+                String[] fields = saved.trim().split("\\s+");
+                if (fields.length == 4) {
+                    try {
+                        stats.found = Long.parseLong(fields[0]);
+                        stats.missed = Long.parseLong(fields[1]);
+                        stats.averageNanos = TimeUnit.MICROSECONDS.toNanos(Long.parseLong(fields[2]));
+                        stats.lost = Boolean.parseBoolean(fields[3]);
+                    } catch (NumberFormatException e) {
+                        return new Stats(rank);
+                    }
+                }
+            }
+            return stats;
+        }
+
+        String format() {
+            return found + " " + missed + " " + TimeUnit.NANOSECONDS.toMicros((long) averageNanos) + " " + lost;
+        }
+
+        void found(long nanos) {
+            found++;
+            lost = false;
+            averageNanos = averageNanos == 0 ? nanos : (1 - SMOOTHING) * averageNanos + SMOOTHING * nanos;
+            evaluated(nanos);
+        }
+
+        void missed(long nanos) {
+            missed++;
+            evaluated(nanos);
+        }
+
+        private void evaluated(long nanos) {
+            evaluations++;
+            evaluationNanos += nanos;
+        }
+
+        // Never found anything, but never shown to be wrong either
+        boolean untested() {
+            return found == 0 && !lost;
+        }
+
+        // 0 = works, 1 = untested, 2 = lost
+        int group() {
+            if (lost) {
+                return 2;
+            }
+            return found > 0 ? 0 : 1;
+        }
+
+        double sortTime() {
+            return group() == 0 ? averageNanos : 0;
+        }
+
+        String describe() {
+            return "avg " + millis(averageNanos) + " ms when found, " + found + " found / " + missed + " missed overall"
+                    + (lost ? ", lost" : "") + "; this run " + (disagreed > 0 ? disagreed + " disagreed, " : "")
+                    + evaluations + " evaluations, "
+                    + millis(evaluations == 0 ? 0 : (double) evaluationNanos / evaluations) + " ms avg";
+        }
+
+        private static String millis(double nanos) {
+            return String.format("%.1f", nanos / 1_000_000);
+        }
+    }
+
+    // ============================================
+    // PERSISTENCE AND REPORT
+    // ============================================
+
+    /*
+     * Write the map back, keeping what other hosts learned
+     */
+    public void save() {
+        if (file == null) {
+            return;
+        }
+        Properties merged = new Properties();
+        merged.putAll(saved);
+        entries.values().forEach(entry -> entry.save(merged));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Properties.store sorts the keys, so the file diffs well between runs
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                merged.store(out, "Locator strategies learned per host: found missed averageMicros lost");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            EventLog.info("Could not save locator map " + file + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * Strategy order and evaluation times per locator (* = preferred now)
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Locator map (" + host + (file == null ? "" : ", " + file) + "):");
+        entries.values().stream()
+                .sorted(Comparator.comparing(entry -> entry.locator))
+                .forEach(entry -> entry.describe(report));
+        return report.toString();
+    }
+}
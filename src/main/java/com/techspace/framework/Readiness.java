@@ -0,0 +1,118 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * What a page must show before its actions can run: its readiness contract
+ *
+ * Built from three kinds of conditions, all of which must hold:
+ *   shown(a, b)      one of the locators matches a displayed element
+ *   hook(name, js)   an app-specific JavaScript expression is truthy
+ *   networkIdle()    no XHR/fetch in flight and none finished in the quiet period
+ *
+ * A single-page app never resets document.readyState on a route change, so
+ * "readyState is complete" says nothing about the page; these conditions do.
+ * ReadinessEngine checks all element and hook conditions of a contract in
+ * one script call and network idleness from DevToolsCapture, without a call.
+ *
+ * Contracts are immutable; the and...() methods return a new one.
+ *
+ *   -Dtechspace.readiness.quietMillis  quiet period of networkIdle(), default 100
+ */
+public final class Readiness {
+
+    static final Duration QUIET_PERIOD = Duration.ofMillis(Settings.integer("techspace.readiness.quietMillis", 100));
+
+    record Hook(String name, String expression) {
+    }
+
+    private final List<List<By>> shown;
+    private final List<Hook> hooks;
+    private final Duration networkQuiet;
+    private final String script;
+
+    private Readiness(List<List<By>> shown, List<Hook> hooks, Duration networkQuiet) {
+        this.shown = List.copyOf(shown);
+        this.hooks = List.copyOf(hooks);
+        this.networkQuiet = networkQuiet;
+        this.script = ReadinessEngine.compile(this.hooks);
+    }
+
+    // ============================================
+    // BUILDING
+    // ============================================
+
+    /*
+     * Ready when one of the locators matches a displayed element
+     */
+    public static Readiness shown(By... anyOf) {
+        return new Readiness(List.of(List.of(anyOf)), List.of(), null);
+    }
+
+    /*
+     * Ready when the JavaScript expression is truthy, e.g. hook("store loaded", "window.__store.ready")
+     */
+    public static Readiness hook(String name, String expression) {
+        return new Readiness(List.of(), List.of(new Hook(name, expression)), null);
+    }
+
+    public Readiness andShown(By... anyOf) {
+        List<List<By>> more = new ArrayList<>(shown);
+        more.add(List.of(anyOf));
+        return new Readiness(more, hooks, networkQuiet);
+    }
+
+    public Readiness andHook(String name, String expression) {
+        List<Hook> more = new ArrayList<>(hooks);
+        more.add(new Hook(name, expression));
+        return new Readiness(shown, more, networkQuiet);
+    }
+
+    /*
+     * Also require the app's API calls to have settled (only checked where DevTools capture is active)
+     */
+    public Readiness andNetworkIdle() {
+        return new Readiness(shown, hooks, QUIET_PERIOD);
+    }
+
+    // ============================================
+    // PARTS (for ReadinessEngine)
+    // ============================================
+
+    List<List<By>> shown() {
+        return shown;
+    }
+
+    List<Hook> hooks() {
+        return hooks;
+    }
+
+    // null when the contract has no network condition
+    Duration networkQuiet() {
+        return networkQuiet;
+    }
+
+    // Script checking the element and hook conditions, compiled once per contract
+    String script() {
+        return script;
+    }
+
+    public String describe() {
+        List<String> parts = new ArrayList<>();
+        for (List<By> anyOf : shown) {
+            parts.add("shown " + anyOf.stream().map(String::valueOf).collect(Collectors.joining(" or ")));
+        }
+        for (Hook hook : hooks) {
+            parts.add(hook.name());
+        }
+        if (networkQuiet != null) {
+            parts.add("network idle " + networkQuiet.toMillis() + " ms");
+        }
+        return String.join(", ", parts);
+    }
+}
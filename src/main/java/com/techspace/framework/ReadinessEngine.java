@@ -0,0 +1,216 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Evaluates readiness contracts (see Readiness) of one page
+ *
+ * One check costs at most one round-trip: the network condition is answered
+ * from the DevTools capture first (and a busy network ends the check without
+ * touching the browser), then every element and hook condition is evaluated
+ * by a single script. Only locator types the script can't resolve (link
+ * text, class name) are looked up one by one with findElements.
+ *
+ * An element counts as shown like WebElement.isDisplayed() would see it for
+ * the element a lookup returns: the first match of the first strategy that
+ * matches anything, with no display:none or visibility:hidden on its way up.
+ */
+public final class ReadinessEngine {
+
+    // Counters per page name, over all sessions
+    private static final Map<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    // Lookup strategies the script resolves itself
+    private static final Set<String> SCRIPT_STRATEGIES = Set.of("xpath", "css selector", "tag name", "name", "id");
+
+    // Element conditions: arguments[0] = per condition, per locator its [using, value] candidates;
+    // returns the index of the first condition not shown. Hooks are compiled in after it (see compile)
+    private static final String ELEMENTS_SCRIPT =
+            "function find(using, value) {"
+                    + "  if (using === 'xpath') {"
+                    + "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+                    + "  }"
+                    + "  if (using === 'css selector') { return document.querySelector(value); }"
+                    + "  if (using === 'name') { return document.getElementsByName(value)[0]; }"
+                    + "  if (using === 'id') { return document.getElementById(value); }"
+                    + "  return document.getElementsByTagName(value)[0];"
+                    + "}"
+                    + "function shown(node) {"
+                    + "  for (var n = node; n && n.nodeType === 1; n = n.parentNode) {"
+                    + "    var style = window.getComputedStyle(n);"
+                    + "    if (style.display === 'none' || style.visibility === 'hidden') { return false; }"
+                    + "  }"
+                    + "  return true;"
+                    + "}"
+                    + "var conditions = arguments[0];"
+                    + "for (var i = 0; i < conditions.length; i++) {"
+                    + "  var anyShown = false;"
+                    + "  for (var j = 0; j < conditions[i].length && !anyShown; j++) {"
+                    + "    var candidates = conditions[i][j];"
+                    + "    for (var k = 0; k < candidates.length; k++) {"
+                    + "      var node = find(candidates[k][0], candidates[k][1]);"
+                    + "      if (node) { anyShown = shown(node); break; }"
+                    + "    }"
+                    + "  }"
+                    + "  if (!anyShown) { return i; }"
+                    + "}";
+
+    private final WebDriver driver;
+    private final DevToolsCapture devTools;
+    private final Counters counters;
+    private String pending;
+
+    public ReadinessEngine(WebDriver driver, DevToolsCapture devTools, String pageName) {
+        this.driver = driver;
+        this.devTools = devTools;
+        this.counters = COUNTERS.computeIfAbsent(pageName, name -> new Counters());
+    }
+
+    /*
+     * Script of a contract: the element checks, then each hook; returns true or what isn't ready
+     */
+    static String compile(List<Readiness.Hook> hooks) {
+        StringBuilder script = new StringBuilder(ELEMENTS_SCRIPT);
+        for (Readiness.Hook hook : hooks) {
+            String name = hook.name().replace("\\", "\\\\").replace("'", "\\'");
+            script.append("try { if (!(").append(hook.expression()).append(")) { return '").append(name).append("'; } }")
+                    .append(" catch (e) { return '").append(name).append("'; }");
+        }
+        return script.append("return true;").toString();
+    }
+
+    // ============================================
+    // CHECKING
+    // ============================================
+
+    /*
+     * Check the contract once, without waiting
+     */
+    public boolean isReady(Readiness readiness) {
+        counters.checks.increment();
+        if (readiness.networkQuiet() != null && devTools.isActive()
+                && !devTools.isNetworkIdle(readiness.networkQuiet())) {
+            counters.networkBusy.increment();
+            pending = "network idle";
+            return false;
+        }
+
+        // [condition][locator][candidate] = [using, value]
+        List<List<List<List<Object>>>> inBrowser = new ArrayList<>();
+        for (List<By> anyOf : readiness.shown()) {
+            List<List<List<Object>>> remote = new ArrayList<>();
+            for (By locator : anyOf) {
+                List<List<Object>> candidates = remoteCandidates(locator);
+                if (candidates == null) {
+                    remote = null;
+                    break;
+                }
+                remote.add(candidates);
+            }
+            if (remote != null) {
+                inBrowser.add(remote);
+            } else if (!anyShownLocally(anyOf)) {
+                pending = "shown " + anyOf;
+                return false;
+            }
+        }
+
+        if (!readiness.hooks().isEmpty() || !inBrowser.isEmpty()) {
+            counters.scriptCalls.increment();
+            Object result = ((JavascriptExecutor) driver).executeScript(readiness.script(), inBrowser);
+            if (!Boolean.TRUE.equals(result)) {
+                pending = result instanceof Number index
+                        ? "shown " + remoteConditions(readiness).get(index.intValue())
+                        : String.valueOf(result);
+                return false;
+            }
+        }
+        pending = null;
+        counters.ready.increment();
+        return true;
+    }
+
+    /*
+     * The condition that failed the last check, for timeout messages (null if it passed)
+     */
+    public String pending() {
+        return pending;
+    }
+
+    // The element conditions the script checks, in its order
+    private static List<List<By>> remoteConditions(Readiness readiness) {
+        return readiness.shown().stream()
+                .filter(anyOf -> anyOf.stream().allMatch(locator -> remoteCandidates(locator) != null))
+                .toList();
+    }
+
+    // [using, value] of every strategy of the locator, or null if the script can't resolve one of them
+    private static List<List<Object>> remoteCandidates(By locator) {
+        List<By> candidates = locator instanceof Locator ranked ? ranked.candidates() : List.of(locator);
+        List<List<Object>> remote = new ArrayList<>();
+        for (By candidate : candidates) {
+            if (!(candidate instanceof By.Remotable remotable)) {
+                return null;
+            }
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            String using = parameters.using();
+            if (!SCRIPT_STRATEGIES.contains(using)) {
+                return null;
+            }
+            remote.add(List.of(using, String.valueOf(parameters.value())));
+        }
+        return remote;
+    }
+
+    private boolean anyShownLocally(List<By> anyOf) {
+        for (By locator : anyOf) {
+            counters.localFinds.increment();
+            List<WebElement> found = driver.findElements(locator);
+            try {
+                if (!found.isEmpty() && found.get(0).isDisplayed()) {
+                    return true;
+                }
+            } catch (StaleElementReferenceException e) {
+                // Re-rendered while we looked: not ready yet
+            }
+        }
+        return false;
+    }
+
+    // ============================================
+    // REPORT
+    // ============================================
+
+    private static final class Counters {
+        final LongAdder checks = new LongAdder();
+        final LongAdder ready = new LongAdder();
+        final LongAdder scriptCalls = new LongAdder();
+        final LongAdder localFinds = new LongAdder();
+        final LongAdder networkBusy = new LongAdder();
+    }
+
+    /*
+     * Readiness checks per page: how many, how many passed and what they cost in browser calls
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Page readiness:");
+        COUNTERS.forEach((page, counters) -> report.append("\n  ").append(page).append(": ")
+                .append(counters.checks.sum()).append(" checks, ")
+                .append(counters.ready.sum()).append(" ready, ")
+                .append(counters.scriptCalls.sum()).append(" script calls, ")
+                .append(counters.localFinds.sum()).append(" single finds, ")
+                .append(counters.networkBusy.sum()).append(" answered by a busy network"));
+        return report.toString();
+    }
+}
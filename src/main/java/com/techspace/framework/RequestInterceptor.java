@@ -0,0 +1,369 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/*
+ * Blocks or stubs requests the tests don't need (images, fonts, analytics, ...)
+ *
+ * Requests matching a rule are paused with the DevTools Fetch domain and
+ * either failed (BLOCK) or answered with an empty response (STUB, for
+ * scripts the page calls into, so it doesn't log errors). Rules match a
+ * resource type (Image, Font, Media, Stylesheet, Script, ...) or a URL glob
+ * ('*' and '?' wildcards, as in CDP). Everything else goes to the network
+ * untouched and never pauses.
+ *
+ * The report estimates what was saved per navigation from what the blocked
+ * URLs cost when they did load: sizes and load times are learned whenever a
+ * matching resource loads (e.g. a run with -Dtechspace.block.enabled=false)
+ * and kept in the cost file.
+ *
+ *   -Dtechspace.block.enabled   default true
+ *   -Dtechspace.block.types     resource types to block, e.g. Image,Font,Media
+ *   -Dtechspace.block.urls      URL globs to block, e.g. *google-analytics.com*
+ *   -Dtechspace.stub.urls       URL globs to answer with an empty response
+ *   -Dtechspace.block.costFile  default target/resource-costs.properties
+ * (added to the rules of the browser profile, see BrowserProfile)
+ */
+public final class RequestInterceptor {
+
+    public enum Action { BLOCK, STUB }
+
+    /*
+     * Block or stub requests of a resource type (urlGlob null) or to matching URLs (resourceType null)
+     */
+    public record Rule(Action action, String resourceType, String urlGlob) {
+
+        public static Rule blockType(String resourceType) {
+            return new Rule(Action.BLOCK, resourceType, null);
+        }
+
+        public static Rule blockUrls(String urlGlob) {
+            return new Rule(Action.BLOCK, null, urlGlob);
+        }
+
+        public static Rule stubUrls(String urlGlob) {
+            return new Rule(Action.STUB, null, urlGlob);
+        }
+
+        boolean matches(String url, String type) {
+            return resourceType != null ? resourceType.equalsIgnoreCase(type) : glob(urlGlob).matcher(url).matches();
+        }
+
+        // Pattern paused by Fetch.enable for this rule
+        Map<String, Object> fetchPattern() {
+            return resourceType != null
+                    ? Map.of("urlPattern", "*", "resourceType", resourceType, "requestStage", "Request")
+                    : Map.of("urlPattern", urlGlob, "requestStage", "Request");
+        }
+    }
+
+    private static final Map<String, Pattern> GLOBS = new ConcurrentHashMap<>();
+
+    // What matched URLs cost when they loaded: URL without query -> {bytes, millis}
+    private static final Map<String, long[]> COSTS = new ConcurrentHashMap<>();
+    private static volatile Path costFile;
+
+    // Over all browsers of the run
+    private static final LongAdder NAVIGATIONS = new LongAdder();
+    private static final LongAdder BLOCKED = new LongAdder();
+    private static final LongAdder STUBBED = new LongAdder();
+    private static final LongAdder UNKNOWN_COST = new LongAdder();
+    private static final LongAdder BYTES_SAVED = new LongAdder();
+    private static final LongAdder MILLIS_SAVED = new LongAdder();
+    private static final LongAdder LEARNED = new LongAdder();
+
+    private final List<Rule> rules;
+    private final boolean enabled;
+    private final DevTools devTools;
+
+    // Requests matching a rule that are loading (only when not intercepting): id -> {url, start seconds}
+    private final Map<String, Object[]> loading = new HashMap<>();
+
+    private RequestInterceptor(List<Rule> rules, boolean enabled, DevTools devTools) {
+        this.rules = rules;
+        this.enabled = enabled;
+        this.devTools = devTools;
+    }
+
+    // ============================================
+    // RULES
+    // ============================================
+
+    /*
+     * The given rules plus those of the techspace.block.* / techspace.stub.* settings
+     */
+    public static List<Rule> configuredRules(List<Rule> defaults) {
+        List<Rule> rules = new ArrayList<>(defaults);
+        for (String type : list(Settings.string("techspace.block.types", ""))) {
+            rules.add(Rule.blockType(type));
+        }
+        for (String glob : list(Settings.string("techspace.block.urls", ""))) {
+            rules.add(Rule.blockUrls(glob));
+        }
+        for (String glob : list(Settings.string("techspace.stub.urls", ""))) {
+            rules.add(Rule.stubUrls(glob));
+        }
+        return rules;
+    }
+
+    private static List<String> list(String commaSeparated) {
+        List<String> values = new ArrayList<>();
+        for (String value : commaSeparated.split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+    /*
+     * Action of the first rule matching a request, if any
+     */
+    static Optional<Action> match(List<Rule> rules, String url, String resourceType) {
+        for (Rule rule : rules) {
+            if (rule.matches(url, resourceType)) {
+                return Optional.of(rule.action());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Pattern glob(String glob) {
+        return GLOBS.computeIfAbsent(glob, pattern -> {
+            StringBuilder regex = new StringBuilder();
+            for (char c : pattern.toCharArray()) {
+                switch (c) {
+                    case '*' -> regex.append(".*");
+                    case '?' -> regex.append('.');
+                    default -> regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return Pattern.compile(regex.toString());
+        });
+    }
+
+    // ============================================
+    // ATTACHING
+    // ============================================
+
+    /*
+     * Intercept the requests of a browser that was just started
+     * Does nothing without rules or without DevTools
+     */
+    public static void attach(WebDriver browser, List<Rule> rules) {
+        if (rules.isEmpty() || !(browser instanceof HasDevTools hasDevTools)) {
+            return;
+        }
+        Optional<DevTools> maybeDevTools = hasDevTools.maybeGetDevTools();
+        if (maybeDevTools.isEmpty()) {
+            return;
+        }
+        loadCosts();
+        RequestInterceptor interceptor = new RequestInterceptor(List.copyOf(rules),
+                Settings.flag("techspace.block.enabled", true), maybeDevTools.get());
+        DevTools devTools = interceptor.devTools;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(event("Network.requestWillBeSent"), interceptor::onRequest);
+        devTools.addListener(event("Network.loadingFinished"), interceptor::onFinished);
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        if (interceptor.enabled) {
+            devTools.addListener(event("Fetch.requestPaused"), interceptor::onPaused);
+            List<Map<String, Object>> patterns = interceptor.rules.stream().map(Rule::fetchPattern).toList();
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    // ============================================
+    // CDP EVENTS (package-private so they can be fed directly)
+    // ============================================
+
+    /*
+     * A request matched a rule: fail or stub it, and count what that saved
+     */
+    void onPaused(Map<String, Object> event) {
+        String requestId = string(event.get("requestId"));
+        String url = string(map(event.get("request")).get("url"));
+        Optional<Action> action = match(rules, url, string(event.get("resourceType")));
+        if (action.isEmpty()) {
+            devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            return;
+        }
+        if (action.get() == Action.BLOCK) {
+            devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+            BLOCKED.increment();
+        } else {
+            devTools.send(new Command<>("Fetch.fulfillRequest", stub(requestId, url)));
+            STUBBED.increment();
+        }
+        countSaving(url);
+    }
+
+    // Empty script/style for code the page loads, no content for the rest
+    static Map<String, Object> stub(String requestId, String url) {
+        String path = withoutQuery(url);
+        String contentType = path.endsWith(".js") ? "application/javascript"
+                : path.endsWith(".css") ? "text/css" : null;
+        if (contentType == null) {
+            return Map.of("requestId", requestId, "responseCode", 204, "body", "");
+        }
+        return Map.of("requestId", requestId, "responseCode", 200, "body", "",
+                "responseHeaders", List.of(Map.of("name", "Content-Type", "value", contentType)));
+    }
+
+    private static void countSaving(String url) {
+        long[] cost = COSTS.get(withoutQuery(url));
+        if (cost == null) {
+            UNKNOWN_COST.increment();
+            return;
+        }
+        BYTES_SAVED.add(cost[0]);
+        MILLIS_SAVED.add(cost[1]);
+    }
+
+    /*
+     * Count page navigations; remember requests matching a rule that load anyway, to learn their cost
+     */
+    synchronized void onRequest(Map<String, Object> event) {
+        String type = string(event.get("type"));
+        if (type.equals("Document")) {
+            NAVIGATIONS.increment();
+        }
+        String url = string(map(event.get("request")).get("url"));
+        if (!enabled && match(rules, url, type).isPresent()) {
+            loading.put(string(event.get("requestId")), new Object[]{url, number(event.get("timestamp"))});
+        }
+    }
+
+    synchronized void onFinished(Map<String, Object> event) {
+        Object[] request = loading.remove(string(event.get("requestId")));
+        if (request != null) {
+            long bytes = (long) number(event.get("encodedDataLength"));
+            long millis = Math.max(0, Math.round((number(event.get("timestamp")) - (double) request[1]) * 1000));
+            COSTS.put(withoutQuery((String) request[0]), new long[]{bytes, millis});
+            LEARNED.increment();
+        }
+    }
+
+    private static String withoutQuery(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    // ============================================
+    // COSTS AND REPORT
+    // ============================================
+
+    private static synchronized void loadCosts() {
+        if (costFile != null) {
+            return;
+        }
+        costFile = Path.of(Settings.string("techspace.block.costFile", "target/resource-costs.properties"));
+        if (!Files.isRegularFile(costFile)) {
+            return;
+        }
+        Properties saved = new Properties();
+        try (Reader in = Files.newBufferedReader(costFile, StandardCharsets.UTF_8)) {
+            saved.load(in);
+        } catch (IOException e) {
+            EventLog.info("Could not read resource costs " + costFile + ": " + e.getMessage());
+            return;
+        }
+        for (String url : saved.stringPropertyNames()) {
+            String[] fields = saved.getProperty(url).trim().split("\\s+");
+            try {
+                COSTS.put(url, new long[]{Long.parseLong(fields[0]), Long.parseLong(fields[1])});
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                // Skip a damaged line, it is learned again
+            }
+        }
+    }
+
+    /*
+     * Write the learned costs (only if this run learned any)
+     */
+    public static void saveCosts() {
+        Path file = costFile;
+        if (file == null || LEARNED.sum() == 0) {
+            return;
+        }
+        Properties saved = new Properties();
+        COSTS.forEach((url, cost) -> saved.setProperty(url, cost[0] + " " + cost[1]));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                saved.store(out, "Size in bytes and load time in ms of resources the interception rules match");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            EventLog.info("Could not save resource costs " + file + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * Requests blocked and stubbed, and the bytes and time that saved per navigation
+     */
+    public static String report() {
+        long navigations = NAVIGATIONS.sum();
+        long intercepted = BLOCKED.sum() + STUBBED.sum();
+        if (costFile == null) {
+            return "Request interception: off (no rules or no DevTools)";
+        }
+        if (intercepted == 0) {
+            return "Request interception: nothing intercepted in " + navigations + " navigations"
+                    + (LEARNED.sum() > 0 ? ", learned the cost of " + COSTS.size() + " resources" : "");
+        }
+        long perNavigation = Math.max(1, navigations);
+        StringBuilder report = new StringBuilder("Request interception: ")
+                .append(BLOCKED.sum()).append(" blocked, ").append(STUBBED.sum()).append(" stubbed in ")
+                .append(navigations).append(" navigations; saved per navigation ~")
+                .append(BYTES_SAVED.sum() / perNavigation / 1024).append(" KB, up to ~")
+                .append(MILLIS_SAVED.sum() / perNavigation).append(" ms of loading");
+        if (UNKNOWN_COST.sum() > 0) {
+            report.append(" (").append(UNKNOWN_COST.sum()).append(" requests of unknown cost not counted;")
+                    .append(" run once with -Dtechspace.block.enabled=false to measure them)");
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,282 @@
+package com.techspace.framework;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/*
+ * Writes failure screenshots in the background
+ *
+ * The test thread only grabs the PNG bytes from the browser and hands them
+ * over; downscaling, JPEG compression and the disk write happen on a small
+ * bounded executor. When the queue is full the submitting thread writes the
+ * screenshot itself, so a burst of failures slows tests down instead of
+ * piling up images in memory. Total disk use of the screenshots in the
+ * directory is capped by deleting the oldest ones; other files are left alone.
+ * Screenshots submitted after flushAndClose are not written; they count as
+ * failed and go to the event log.
+ */
+public class ScreenshotWriter {
+    private final Path directory;
+    private final int maxWidth;
+    private final float jpegQuality;
+    private final long maxDirectoryBytes;
+    private final ThreadPoolExecutor executor;
+
+    // Screenshots on disk and their sizes, oldest first, with their total size (guarded by this)
+    private final Map<Path, Long> files = new LinkedHashMap<>();
+    private long directoryBytes;
+
+    // Statistics
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong capturedBytes = new AtomicLong();
+    private final AtomicLong writtenBytes = new AtomicLong();
+    private final AtomicLong encodeNanos = new AtomicLong();
+
+    // ============================================
+    // CONSTRUCTOR
+    // ============================================
+    public ScreenshotWriter(Path directory, int threads, int queueCapacity, int maxWidth, float jpegQuality,
+                            long maxDirectoryBytes) {
+        this.directory = directory;
+        this.maxWidth = maxWidth;
+        this.jpegQuality = jpegQuality;
+        this.maxDirectoryBytes = maxDirectoryBytes;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    // Queue full: write on the submitting thread; closed: refuse instead of dropping silently
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("the screenshot writer is already closed");
+                    }
+                    runnable.run();
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        // Screenshots of earlier runs count towards the cap too
+        try {
+            indexExistingFiles();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read screenshot directory " + directory, e);
+        }
+    }
+
+    /*
+     * Build a writer from the techspace.screenshots.* settings
+     *   dir (screenshots), threads (1), queue (8), maxWidth (1280 px),
+     *   quality (80 %), maxMegabytes (200, for the whole directory)
+     */
+    public static ScreenshotWriter configured() {
+        return new ScreenshotWriter(
+                Path.of(Settings.string("techspace.screenshots.dir", "screenshots")),
+                Settings.integer("techspace.screenshots.threads", 1),
+                Settings.integer("techspace.screenshots.queue", 8),
+                Settings.integer("techspace.screenshots.maxWidth", 1280),
+                Settings.integer("techspace.screenshots.quality", 80) / 100f,
+                Settings.integer("techspace.screenshots.maxMegabytes", 200) * 1024L * 1024L);
+    }
+
+    // ============================================
+    // WRITING
+    // ============================================
+
+    /*
+     * Queue a PNG screenshot for writing as <baseName>.jpg
+     * Returns the path it will be written to, or null if the writer is already closed
+     */
+    public Path submit(String baseName, byte[] png) {
+        Path target = directory.resolve(baseName.replaceAll("[^A-Za-z0-9._-]", "_") + ".jpg");
+        capturedBytes.addAndGet(png.length);
+        try {
+            executor.execute(() -> write(target, png));
+        } catch (RejectedExecutionException e) {
+            failed.incrementAndGet();
+            EventLog.info("Screenshot " + target + " not written: " + e.getMessage());
+            return null;
+        }
+        return target;
+    }
+
+    /*
+     * Wait for all queued screenshots to be written and stop the writer threads
+     * Returns false if the timeout passed first
+     */
+    public boolean flushAndClose(Duration timeout) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Package-private, as is compress, so the benchmarks can call it directly
+    void write(Path target, byte[] png) {
+        try {
+            long start = System.nanoTime();
+            byte[] image = compress(png);
+            encodeNanos.addAndGet(System.nanoTime() - start);
+
+            // Created on the first screenshot, so passing runs leave no empty directory
+            Files.createDirectories(directory);
+
+            // Write next to the target and move, so a half-written file never shows up under the final name
+            // (one temp file per thread: a screenshot of the same name may be written by another one)
+            Path temp = target.resolveSibling(target.getFileName() + "." + Thread.currentThread().threadId() + ".tmp");
+            Files.write(temp, image, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            written.incrementAndGet();
+            writtenBytes.addAndGet(image.length);
+            added(target, image.length);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            EventLog.info("Failed to save screenshot " + target + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * Downscale to maxWidth and encode as JPEG
+     */
+    byte[] compress(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        int width = Math.min(source.getWidth(), maxWidth);
+        int height = Math.max(1, source.getHeight() * width / source.getWidth());
+
+        // JPEG has no alpha channel, so always draw onto an RGB image
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 4);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam parameters = writer.getDefaultWriteParam();
+            parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parameters.setCompressionQuality(jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(scaled, null, null), parameters);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // ============================================
+    // DISK CAP
+    // ============================================
+
+    /*
+     * Index this writer's screenshots (*.jpg) and the PNG ones the suite wrote before it (*_FAILED_*.png)
+     * Nothing else in the directory counts towards the cap, so nothing else is ever deleted
+     */
+    private void indexExistingFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> existing = Files.list(directory)) {
+            existing.filter(file -> Files.isRegularFile(file) && isScreenshot(file.getFileName().toString()))
+                    .sorted(Comparator.comparingLong(ScreenshotWriter::lastModified))
+                    .forEach(file -> added(file, size(file)));
+        }
+    }
+
+    /*
+     * Track a new file and delete the oldest ones while the directory is over its cap
+     * The newest screenshot is always kept. A file written again under the same name
+     * (two failures in the same second) replaces its old entry and size.
+     */
+    private synchronized void added(Path file, long bytes) {
+        Long replacedBytes = files.remove(file);
+        if (replacedBytes != null) {
+            directoryBytes -= replacedBytes;
+        }
+        files.put(file, bytes);
+        directoryBytes += bytes;
+        while (directoryBytes > maxDirectoryBytes && files.size() > 1) {
+            Path oldest = files.keySet().iterator().next();
+            directoryBytes -= files.remove(oldest);
+            try {
+                Files.deleteIfExists(oldest);
+                deleted.incrementAndGet();
+            } catch (IOException e) {
+                EventLog.info("Could not delete old screenshot " + oldest + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isScreenshot(String fileName) {
+        return fileName.endsWith(".jpg") || (fileName.endsWith(".png") && fileName.contains("_FAILED_"));
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // ============================================
+    // STATISTICS
+    // ============================================
+
+    public String report() {
+        long count = written.get();
+        return "Screenshots: " + count + " written, " + failed.get() + " failed, "
+                + deleted.get() + " old ones deleted for the disk cap, "
+                + capturedBytes.get() / 1024 + " KB captured -> " + writtenBytes.get() / 1024 + " KB written, "
+                + "avg encode " + (count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(encodeNanos.get() / count)) + " ms";
+    }
+}
@@ -0,0 +1,49 @@
+package com.techspace.framework;
+
+/*
+ * Reads framework settings from JVM system properties
+ * Every setting has a default so the suite runs without any -D flags,
+ * e.g. mvn test -Dtechspace.pool.size=4
+ */
+public final class Settings {
+
+    private Settings() {
+    }
+
+    /*
+     * Get a string setting or the default when it is not set
+     */
+    public static String string(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    /*
+     * Get an integer setting or the default when it is not set
+     */
+    public static int integer(String key, int defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be an integer but was: " + value, e);
+        }
+    }
+
+    /*
+     * Get a boolean setting or the default when it is not set
+     */
+    public static boolean flag(String key, boolean defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+}
@@ -0,0 +1,151 @@
+package com.techspace.framework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/*
+ * Splits test units into shards of about equal duration
+ *
+ * Each unit is estimated from TestHistory; units that never ran count as the
+ * median of those that did (or DEFAULT_ESTIMATE_MILLIS on a first run). The
+ * longest units are placed first, each on the shard with the least planned
+ * time so far. The plan depends only on the units and the history, so every
+ * shard computes the same plan on its own and no coordinator is needed.
+ *
+ * Units in the same group (e.g. rows logging in to the same account, which
+ * AccountScheduler can only serialize within one JVM) are placed together,
+ * as one block of their summed duration, so they never run on two shards
+ * at the same time.
+ */
+public final class ShardPlan {
+
+    static final long DEFAULT_ESTIMATE_MILLIS = 1000;
+
+    /*
+     * A test method, or one data-provider row of one ("LoginTest.testValidLogin[1]")
+     */
+    public record Unit(String id, long estimateMillis, boolean estimated) {
+    }
+
+    private final int shards;
+    private final Map<String, Integer> shardOf = new HashMap<>();
+    private final long[] plannedMillis;
+    private final int[] unitCounts;
+    private final int estimatedUnits;
+    private final int groupedUnits;
+
+    // Units that have to run on the same shard, placed as one
+    private record Block(String key, List<Unit> units, long estimateMillis) {
+    }
+
+    private ShardPlan(int shards, List<Unit> units, Map<String, String> groupOf) {
+        this.shards = shards;
+        this.plannedMillis = new long[shards];
+        this.unitCounts = new int[shards];
+        int estimated = 0;
+        int grouped = 0;
+        for (Block block : longestFirst(units, groupOf)) {
+            int lightest = 0;
+            for (int shard = 1; shard < shards; shard++) {
+                if (plannedMillis[shard] < plannedMillis[lightest]) {
+                    lightest = shard;
+                }
+            }
+            for (Unit unit : block.units()) {
+                shardOf.put(unit.id(), lightest);
+                if (unit.estimated()) {
+                    estimated++;
+                }
+            }
+            plannedMillis[lightest] += block.estimateMillis();
+            unitCounts[lightest] += block.units().size();
+            if (block.units().size() > 1) {
+                grouped += block.units().size();
+            }
+        }
+        this.estimatedUnits = estimated;
+        this.groupedUnits = grouped;
+    }
+
+    // Each group as one block, ungrouped units on their own, longest first
+    private static List<Block> longestFirst(List<Unit> units, Map<String, String> groupOf) {
+        Map<String, List<Unit>> members = new LinkedHashMap<>();
+        for (Unit unit : units) {
+            String group = groupOf.get(unit.id());
+            String key = group != null ? "group " + group : "unit " + unit.id();
+            members.computeIfAbsent(key, ignored -> new ArrayList<>()).add(unit);
+        }
+        List<Block> blocks = new ArrayList<>();
+        members.forEach((key, list) ->
+                blocks.add(new Block(key, list, list.stream().mapToLong(Unit::estimateMillis).sum())));
+        blocks.sort(Comparator.comparingLong(Block::estimateMillis).reversed().thenComparing(Block::key));
+        return blocks;
+    }
+
+    /*
+     * Plan the given unit ids over the given number of shards
+     * Units mapped to the same group in groupOf land on the same shard; unmapped ones are placed alone
+     */
+    public static ShardPlan balance(Collection<String> unitIds, Map<String, String> groupOf, int shards,
+                                    TestHistory history) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Need at least one shard, got " + shards);
+        }
+        List<Long> known = new ArrayList<>();
+        for (String id : unitIds) {
+            history.averageMillis(id).ifPresent(known::add);
+        }
+        known.sort(null);
+        long fallback = known.isEmpty() ? DEFAULT_ESTIMATE_MILLIS : known.get(known.size() / 2);
+
+        List<Unit> units = new ArrayList<>();
+        for (String id : unitIds) {
+            OptionalLong average = history.averageMillis(id);
+            units.add(new Unit(id, average.orElse(fallback), average.isEmpty()));
+        }
+        return new ShardPlan(shards, units, groupOf);
+    }
+
+    // ============================================
+    // QUERIES
+    // ============================================
+
+    public int shards() {
+        return shards;
+    }
+
+    /*
+     * Shard of a planned unit, or -1 if the unit wasn't planned
+     */
+    public int shardOf(String unitId) {
+        return shardOf.getOrDefault(unitId, -1);
+    }
+
+    public long plannedMillis(int shard) {
+        return plannedMillis[shard];
+    }
+
+    public int unitCount(int shard) {
+        return unitCounts[shard];
+    }
+
+    /*
+     * One line per shard: units and planned time
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder("Shard plan: ").append(shardOf.size()).append(" units over ")
+                .append(shards).append(" shards (").append(estimatedUnits).append(" without history, ")
+                .append(groupedUnits).append(" kept together with others of their group)");
+        for (int shard = 0; shard < shards; shard++) {
+            description.append("\n  shard ").append(shard).append(": ").append(unitCounts[shard]).append(" units, ~")
+                    .append(plannedMillis[shard] / 1000).append(" s planned");
+        }
+        return description.toString();
+    }
+}
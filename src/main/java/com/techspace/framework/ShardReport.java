@@ -0,0 +1,193 @@
+package com.techspace.framework;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/*
+ * Results of one shard, and the merge of all shards into one report
+ *
+ * Every shard writes shard-<index>-of-<total>.tsv into the shard directory:
+ *
+ *   # planned <millis> actual <millis>
+ *   <unit> TAB PASS|FAIL|SKIP TAB <millis> TAB <first line of the failure>
+ *
+ * Collect the files of all workers into one directory, then merge them:
+ *
+ *   java -cp target/classes com.techspace.framework.ShardReport target/shards
+ *
+ * The merge checks that every shard reported, prints the totals, failures
+ * and planned vs. actual time per shard (also written to merged-report.txt)
+ * and folds the durations into the TestHistory of techspace.history.file,
+ * so the next plan is balanced with them. Exits 1 if a test failed or a
+ * shard is missing.
+ */
+public final class ShardReport {
+
+    private static final Pattern FILE_NAME = Pattern.compile("shard-(\\d+)-of-(\\d+)\\.tsv");
+
+    public enum Status { PASS, FAIL, SKIP }
+
+    public record Outcome(String unit, Status status, long millis, String message) {
+    }
+
+    private ShardReport() {
+    }
+
+    /*
+     * Directory the shards write to: -Dtechspace.shard.dir, default target/shards
+     */
+    public static Path directory() {
+        return Path.of(Settings.string("techspace.shard.dir", "target/shards"));
+    }
+
+    // ============================================
+    // WRITING (one shard)
+    // ============================================
+
+    public static Path write(Path directory, int index, int total, long plannedMillis, long actualMillis,
+                             List<Outcome> outcomes) {
+        Path file = directory.resolve("shard-" + index + "-of-" + total + ".tsv");
+        try {
+            Files.createDirectories(directory);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write("# planned " + plannedMillis + " actual " + actualMillis + "\n");
+                for (Outcome outcome : outcomes) {
+                    out.write(outcome.unit() + "\t" + outcome.status() + "\t" + outcome.millis() + "\t"
+                            + firstLine(outcome.message()) + "\n");
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write shard results " + file, e);
+        }
+        return file;
+    }
+
+    // Assertion messages here often start with a blank line
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.lines().map(String::strip).filter(line -> !line.isEmpty()).findFirst().orElse("")
+                .replace('\t', ' ');
+    }
+
+    // ============================================
+    // MERGING (all shards)
+    // ============================================
+
+    private record ShardFile(int index, int total, long plannedMillis, long actualMillis, List<Outcome> outcomes) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = args.length > 0 ? Path.of(args[0]) : directory();
+        List<ShardFile> shards = read(directory);
+        if (shards.isEmpty()) {
+            System.out.println("No shard results in " + directory);
+            System.exit(1);
+        }
+
+        int total = shards.get(0).total();
+        List<Integer> missing = new ArrayList<>();
+        for (int index = 0; index < total; index++) {
+            int wanted = index;
+            if (shards.stream().noneMatch(shard -> shard.index() == wanted && shard.total() == total)) {
+                missing.add(index);
+            }
+        }
+
+        Map<Status, Integer> counts = new TreeMap<>();
+        List<Outcome> failures = new ArrayList<>();
+        TestHistory history = TestHistory.configured();
+        StringBuilder report = new StringBuilder();
+        for (ShardFile shard : shards) {
+            for (Outcome outcome : shard.outcomes()) {
+                counts.merge(outcome.status(), 1, Integer::sum);
+                if (outcome.status() == Status.FAIL) {
+                    failures.add(outcome);
+                }
+                if (outcome.status() != Status.SKIP) {
+                    history.record(outcome.unit(), outcome.millis(), outcome.status() == Status.PASS);
+                }
+            }
+        }
+
+        report.append("Merged results of ").append(shards.size()).append(" of ").append(total).append(" shards: ")
+                .append(counts.getOrDefault(Status.PASS, 0)).append(" passed, ")
+                .append(counts.getOrDefault(Status.FAIL, 0)).append(" failed, ")
+                .append(counts.getOrDefault(Status.SKIP, 0)).append(" skipped");
+        if (!missing.isEmpty()) {
+            report.append("\n  MISSING shards ").append(missing).append(" - their tests did not report");
+        }
+        for (ShardFile shard : shards) {
+            report.append("\n  shard ").append(shard.index()).append(": ").append(shard.outcomes().size())
+                    .append(" results, ").append(shard.plannedMillis() / 1000).append(" s planned, ")
+                    .append(shard.actualMillis() / 1000).append(" s actual");
+        }
+        failures.sort(Comparator.comparing(Outcome::unit));
+        for (Outcome failure : failures) {
+            report.append("\n  FAILED ").append(failure.unit()).append(": ").append(failure.message());
+        }
+
+        System.out.println(report);
+        Files.writeString(directory.resolve("merged-report.txt"), report + "\n", StandardCharsets.UTF_8);
+        history.save();
+        System.out.println("Durations folded into " + history.getFile());
+        if (!missing.isEmpty() || !failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static List<ShardFile> read(Path directory) throws IOException {
+        List<ShardFile> shards = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return shards;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                Matcher name = FILE_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    shards.add(readShard(file, Integer.parseInt(name.group(1)), Integer.parseInt(name.group(2))));
+                }
+            }
+        }
+        if (shards.stream().map(ShardFile::total).distinct().count() > 1) {
+            throw new IllegalStateException("Shard results of runs with different shard totals in " + directory
+                    + "; clear it before collecting a run");
+        }
+        shards.sort(Comparator.comparingInt(ShardFile::index));
+        return shards;
+    }
+
+    private static ShardFile readShard(Path file, int index, int total) throws IOException {
+        long planned = 0;
+        long actual = 0;
+        List<Outcome> outcomes = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.startsWith("#")) {
+                String[] fields = line.substring(1).trim().split("\\s+");
+                planned = Long.parseLong(fields[1]);
+                actual = Long.parseLong(fields[3]);
+            } else if (!line.isBlank()) {
+                String[] fields = line.split("\t", 4);
+                outcomes.add(new Outcome(fields[0], Status.valueOf(fields[1]), Long.parseLong(fields[2]),
+                        fields.length > 3 ? fields[3] : ""));
+            }
+        }
+        return new ShardFile(index, total, planned, actual, outcomes);
+    }
+}
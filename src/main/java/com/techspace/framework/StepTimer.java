@@ -0,0 +1,287 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * Times page-object actions ("steps") and whole tests
+ *
+ * Each step's wall time is split into
+ *   command  time inside WebDriver calls made by the step itself
+ *   wait     time blocked in WaitEngine waits, i.e. waiting for the app to
+ *            respond or render (the polls of a wait count here, not as commands)
+ *   other    the rest: test-side code between calls
+ * The browser can't tell server latency from rendering, so "wait" is the
+ * app-response time as the test sees it.
+ *
+ * Steps nest (LoginPage.login runs LoginPage.enterEmail); a nested step is
+ * reported under its own name and also counts towards its parent. Only
+ * top-level steps add up to a test's time. State is per thread, so tests
+ * running in parallel don't mix their numbers. Tests and steps also go to
+ * the EventLog.
+ */
+public final class StepTimer {
+
+    private static final ThreadLocal<Context> CURRENT = ThreadLocal.withInitial(Context::new);
+
+    private static final Map<String, Samples> BY_ACTION = new ConcurrentHashMap<>();
+    private static final Map<String, Samples> BY_TEST = new ConcurrentHashMap<>();
+
+    private StepTimer() {
+    }
+
+    // ============================================
+    // TESTS AND STEPS
+    // ============================================
+
+    /*
+     * Mark the start of a test on the current thread
+     */
+    public static void testStarted(String testName) {
+        Context context = CURRENT.get();
+        context.frames.clear();
+        context.test = new Frame(testName);
+        EventLog.record("test-start", testName, null, -1, null);
+    }
+
+    /*
+     * Record the test started on the current thread with its outcome (pass, fail, skip)
+     */
+    public static void testFinished(String outcome) {
+        Context context = CURRENT.get();
+        if (context.test != null) {
+            long elapsed = record(BY_TEST, context.test);
+            EventLog.record("test-end", context.test.name, outcome, TimeUnit.NANOSECONDS.toMicros(elapsed), null);
+            context.test = null;
+        }
+        context.frames.clear();
+    }
+
+    /*
+     * Name of the test running on the current thread, or null outside a test
+     */
+    public static String currentTest() {
+        Frame test = CURRENT.get().test;
+        return test == null ? null : test.name;
+    }
+
+    /*
+     * Run and time an action that returns a value
+     */
+    public static <T> T step(String action, Supplier<T> body) {
+        Context context = CURRENT.get();
+        Frame frame = new Frame(action);
+        context.frames.push(frame);
+        String outcome = "error";
+        try {
+            T result = body.get();
+            outcome = "ok";
+            return result;
+        } finally {
+            context.frames.pop();
+            long elapsed = record(BY_ACTION, frame);
+            EventLog.record("action", action, outcome, TimeUnit.NANOSECONDS.toMicros(elapsed), null);
+        }
+    }
+
+    /*
+     * Run and time an action
+     */
+    public static void step(String action, Runnable body) {
+        step(action, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    // ============================================
+    // COMMANDS AND WAITS
+    // ============================================
+
+    /*
+     * Wrap a driver so the time of every WebDriver call is attributed to the running step
+     */
+    public static WebDriver timeCommands(WebDriver driver) {
+        return new EventFiringDecorator<>(new CommandListener()).decorate(driver);
+    }
+
+    /*
+     * Called by WaitEngine when a wait starts; returns the token for waitFinished
+     */
+    public static long waitStarted() {
+        CURRENT.get().waitDepth++;
+        return System.nanoTime();
+    }
+
+    /*
+     * Called by WaitEngine when a wait ends
+     */
+    public static void waitFinished(long startToken) {
+        Context context = CURRENT.get();
+        if (--context.waitDepth == 0) {
+            context.addWait(System.nanoTime() - startToken);
+        }
+    }
+
+    /*
+     * Times WebDriver calls; calls made inside a wait or by another call
+     * (a WebElement call of a decorated findElement) are not counted twice
+     */
+    private static final class CommandListener implements WebDriverListener {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            Context context = CURRENT.get();
+            if (context.commandDepth++ == 0) {
+                context.commandStart = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            finished();
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            finished();
+        }
+
+        private static void finished() {
+            Context context = CURRENT.get();
+            if (context.commandDepth > 0 && --context.commandDepth == 0 && context.waitDepth == 0) {
+                context.addCommand(System.nanoTime() - context.commandStart);
+            }
+        }
+    }
+
+    // ============================================
+    // BOOKKEEPING
+    // ============================================
+
+    private static final class Context {
+        final Deque<Frame> frames = new ArrayDeque<>();
+        Frame test;
+        int commandDepth;
+        long commandStart;
+        int waitDepth;
+
+        void addCommand(long nanos) {
+            frames.forEach(frame -> frame.commandNanos += nanos);
+            if (test != null) {
+                test.commandNanos += nanos;
+            }
+        }
+
+        void addWait(long nanos) {
+            frames.forEach(frame -> frame.waitNanos += nanos);
+            if (test != null) {
+                test.waitNanos += nanos;
+            }
+        }
+    }
+
+    private static final class Frame {
+        final String name;
+        final long start = System.nanoTime();
+        long commandNanos;
+        long waitNanos;
+
+        Frame(String name) {
+            this.name = name;
+        }
+    }
+
+    // Returns the frame's wall time
+    private static long record(Map<String, Samples> target, Frame frame) {
+        long elapsed = System.nanoTime() - frame.start;
+        target.computeIfAbsent(frame.name, name -> new Samples()).add(elapsed, frame.commandNanos, frame.waitNanos);
+        return elapsed;
+    }
+
+    /*
+     * Durations of one action or test, kept whole for percentiles
+     */
+    private static final class Samples {
+        private long[] nanos = new long[16];
+        private int count;
+        private long totalNanos;
+        private long commandNanos;
+        private long waitNanos;
+
+        synchronized void add(long elapsed, long command, long wait) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsed;
+            totalNanos += elapsed;
+            commandNanos += command;
+            waitNanos += wait;
+        }
+
+        synchronized long total() {
+            return totalNanos;
+        }
+
+        synchronized String describe() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long other = Math.max(0, totalNanos - commandNanos - waitNanos);
+            return count + "x, p50 " + millis(percentile(sorted, 50))
+                    + " / p95 " + millis(percentile(sorted, 95))
+                    + " / p99 " + millis(percentile(sorted, 99)) + " ms, total " + millis(totalNanos)
+                    + " ms (command " + share(commandNanos) + "%, wait " + share(waitNanos)
+                    + "%, other " + share(other) + "%)";
+        }
+
+        private int share(long part) {
+            return totalNanos == 0 ? 0 : (int) Math.round(100.0 * part / totalNanos);
+        }
+
+        // Nearest-rank percentile
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static long millis(long nanos) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+
+    // ============================================
+    // REPORT
+    // ============================================
+
+    /*
+     * Latency per action and per test, slowest total first
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Step timings per action:");
+        append(report, BY_ACTION);
+        report.append("\nStep timings per test:");
+        append(report, BY_TEST);
+        return report.toString();
+    }
+
+    private static void append(StringBuilder report, Map<String, Samples> samples) {
+        samples.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Samples> entry) -> entry.getValue().total()).reversed())
+                .forEach(entry -> report.append("\n  ").append(entry.getKey()).append(": ")
+                        .append(entry.getValue().describe()));
+    }
+}
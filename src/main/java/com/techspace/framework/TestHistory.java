@@ -0,0 +1,173 @@
+package com.techspace.framework;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Durations and outcomes of earlier runs per test unit, kept between runs
+ *
+ * A unit is a test method ("CartTest.testClearEntireCart") or one row of a
+ * data-driven method ("LoginTest.testValidLogin[1]"). Each unit keeps a
+ * moving average of its duration, how often it ran and the outcomes of its
+ * last RECENT_RUNS runs, so the next run can balance shards (ShardPlan) and
+ * run the likeliest failures first (FailFastOrder). One line per unit:
+ *
+ *   LoginTest.testValidLogin[1]=131 12 PPPFP    (average ms, runs, recent outcomes, newest last)
+ *
+ *   -Dtechspace.history.file  default target/test-history.properties
+ */
+public final class TestHistory {
+
+    // Weight of the newest run in the moving average
+    private static final double SMOOTHING = 0.3;
+
+    // Outcomes kept per unit
+    static final int RECENT_RUNS = 5;
+
+    private final Path file;
+    private final Map<String, Record> records = new ConcurrentHashMap<>();
+
+    private TestHistory(Path file) {
+        this.file = file;
+    }
+
+    /*
+     * History from techspace.history.file
+     */
+    public static TestHistory configured() {
+        return load(Path.of(Settings.string("techspace.history.file", "target/test-history.properties")));
+    }
+
+    public static TestHistory load(Path file) {
+        TestHistory history = new TestHistory(file);
+        if (Files.isRegularFile(file)) {
+            Properties saved = new Properties();
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                saved.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read test history " + file, e);
+            }
+            saved.stringPropertyNames().forEach(unit -> {
+                Record record = Record.parse(saved.getProperty(unit));
+                if (record != null) {
+                    history.records.put(unit, record);
+                }
+            });
+        }
+        return history;
+    }
+
+    // ============================================
+    // RECORDS
+    // ============================================
+
+    private static final class Record {
+        double averageMillis;
+        long runs;
+        String recent = ""; // 'P' passed, 'F' failed, newest last
+
+        // Saved form: "averageMillis runs recent" (recent is missing in files without outcomes)
+        static Record parse(String saved) {
+            String[] fields = saved.trim().split("\\s+");
+            if (fields.length < 2) {
+                return null;
+            }
+            try {
+                Record record = new Record();
+                record.averageMillis = Long.parseLong(fields[0]);
+                record.runs = Long.parseLong(fields[1]);
+                record.recent = fields.length > 2 ? fields[2].replaceAll("[^PF]", "") : "";
+                return record;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        synchronized void add(long millis, boolean passed) {
+            averageMillis = runs == 0 ? millis : (1 - SMOOTHING) * averageMillis + SMOOTHING * millis;
+            runs++;
+            String outcomes = recent + (passed ? 'P' : 'F');
+            recent = outcomes.substring(Math.max(0, outcomes.length() - RECENT_RUNS));
+        }
+
+        synchronized String recent() {
+            return recent;
+        }
+
+        synchronized String format() {
+            return Math.round(averageMillis) + " " + runs + (recent.isEmpty() ? "" : " " + recent);
+        }
+    }
+
+    /*
+     * Record one run of a unit
+     */
+    public void record(String unit, long millis, boolean passed) {
+        records.computeIfAbsent(unit, name -> new Record()).add(millis, passed);
+    }
+
+    /*
+     * Average duration of a unit, if it ran before
+     */
+    public OptionalLong averageMillis(String unit) {
+        Record record = records.get(unit);
+        return record == null ? OptionalLong.empty() : OptionalLong.of(Math.round(record.averageMillis));
+    }
+
+    /*
+     * Outcomes of the unit's last runs, oldest first: "PPF" = passed twice, then failed
+     */
+    public String recentOutcomes(String unit) {
+        Record record = records.get(unit);
+        return record == null ? "" : record.recent();
+    }
+
+    public Set<String> units() {
+        return records.keySet();
+    }
+
+    // ============================================
+    // PERSISTENCE
+    // ============================================
+
+    public Path getFile() {
+        return file;
+    }
+
+    /*
+     * Write the history back; throws UncheckedIOException if it can't
+     * (it is saved after the event log has closed, so the caller reports the failure)
+     */
+    public void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Written by hand rather than Properties.store: unit names need no escaping and stay readable
+            Map<String, String> sorted = new TreeMap<>();
+            records.forEach((unit, record) -> sorted.put(unit, record.format()));
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write("# Test history per unit: averageMillis runs recentOutcomes\n");
+                for (Map.Entry<String, String> line : sorted.entrySet()) {
+                    out.write(line.getKey() + "=" + line.getValue() + "\n");
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save test history " + file, e);
+        }
+    }
+}
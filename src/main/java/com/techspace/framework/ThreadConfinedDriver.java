@@ -0,0 +1,96 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/*
+ * Guard that confines a WebDriver to the thread that leased it
+ *
+ * A WebDriver session is not thread-safe. When tests run in parallel, a page
+ * object or helper that leaks into another thread would silently drive the
+ * wrong browser. The guarded driver fails fast instead, and also rejects any
+ * call made after the session was handed back to the pool.
+ */
+public final class ThreadConfinedDriver implements InvocationHandler {
+    private final WebDriver delegate;
+    private final Thread owner;
+    private volatile boolean revoked;
+
+    private ThreadConfinedDriver(WebDriver delegate, Thread owner) {
+        this.delegate = delegate;
+        this.owner = owner;
+    }
+
+    /*
+     * Wrap a driver so it may only be used by the current thread
+     * The returned proxy keeps every interface of the real driver
+     * (JavascriptExecutor, TakesScreenshot, ...) and implements WrapsDriver
+     */
+    public static WebDriver confine(WebDriver driver) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = driver.getClass(); type != null; type = type.getSuperclass()) {
+            collectInterfaces(type, interfaces);
+        }
+        interfaces.add(WebDriver.class);
+        interfaces.add(WrapsDriver.class);
+        return (WebDriver) Proxy.newProxyInstance(
+                ThreadConfinedDriver.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]),
+                new ThreadConfinedDriver(driver, Thread.currentThread())
+        );
+    }
+
+    /*
+     * Block every further call through a confined driver
+     * Used when the session goes back to the pool
+     */
+    public static void revoke(WebDriver confinedDriver) {
+        if (confinedDriver != null && Proxy.isProxyClass(confinedDriver.getClass())
+                && Proxy.getInvocationHandler(confinedDriver) instanceof ThreadConfinedDriver guard) {
+            guard.revoked = true;
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "ThreadConfinedDriver(" + delegate + ")";
+            };
+        }
+        if (revoked) {
+            throw new IllegalStateException("WebDriver used after its session was released to the pool: "
+                    + method.getName() + "() called from " + Thread.currentThread().getName());
+        }
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("WebDriver leased by thread '" + owner.getName()
+                    + "' was used from thread '" + Thread.currentThread().getName() + "' (" + method.getName()
+                    + "()). Page objects and drivers must not be shared between parallel tests.");
+        }
+        if (method.getDeclaringClass() == WrapsDriver.class) {
+            return delegate;
+        }
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (java.lang.reflect.Modifier.isPublic(candidate.getModifiers()) && interfaces.add(candidate)) {
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.techspace.framework;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/*
+ * One place for every wait of a browser session
+ *
+ * The driver runs with implicit wait 0, so a findElements() that finds
+ * nothing returns at once and only these explicit waits decide how long we
+ * are willing to wait. Negative checks ("X must not show up") get a short,
+ * explicit window instead of paying the full timeout for every locator.
+ *
+ * Polling backs off: the first checks come quickly (most conditions hold
+ * after a render or two), later ones further apart so a slow page isn't
+ * hammered with commands. Timeout and polling bounds are configurable:
+ *   -Dtechspace.wait.timeout   seconds, default 10
+ *   -Dtechspace.wait.poll.min  milliseconds, default 50
+ *   -Dtechspace.wait.poll.max  milliseconds, default 500
+ *
+ * Every wait is recorded in a WaitStatistics under the page it ran for
+ * (see forPage), so the suite report shows where the time goes.
+ */
+public class WaitEngine {
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    static final Duration DEFAULT_MIN_POLL = Duration.ofMillis(50);
+    static final Duration DEFAULT_MAX_POLL = Duration.ofMillis(500);
+
+    // Growth of the poll interval after every unsuccessful check
+    private static final double BACKOFF_FACTOR = 1.5;
+
+    // Page name for waits that don't belong to a page object
+    private static final String NO_PAGE = "test";
+
+    // Evaluates several locators in one round-trip, returns [index, element] of the first hit
+    private static final String RACE_SCRIPT =
+            "var locators = arguments[0], requireText = arguments[1];"
+                    + "for (var i = 0; i < locators.length; i++) {"
+                    + "  var using = locators[i][0], value = locators[i][1], found = [];"
+                    + "  if (using === 'xpath') {"
+                    + "    var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "    for (var n = 0; n < result.snapshotLength; n++) { found.push(result.snapshotItem(n)); }"
+                    + "  } else if (using === 'css selector') {"
+                    + "    found = document.querySelectorAll(value);"
+                    + "  } else if (using === 'tag name') {"
+                    + "    found = document.getElementsByTagName(value);"
+                    + "  }"
+                    + "  for (var j = 0; j < found.length; j++) {"
+                    + "    if (!requireText || (found[j].innerText || found[j].textContent || '').trim()) { return [i, found[j]]; }"
+                    + "  }"
+                    + "}"
+                    + "return null;";
+
+    private final WebDriver driver;
+    private final Duration defaultTimeout;
+    private final Duration minPoll;
+    private final Duration maxPoll;
+    private final WaitStatistics statistics;
+    private final String page;
+
+    // ============================================
+    // CONSTRUCTOR
+    // ============================================
+    public WaitEngine(WebDriver driver, Duration defaultTimeout) {
+        this(driver, defaultTimeout, DEFAULT_MIN_POLL, DEFAULT_MAX_POLL, new WaitStatistics());
+    }
+
+    public WaitEngine(WebDriver driver, Duration defaultTimeout, Duration minPoll, Duration maxPoll,
+                      WaitStatistics statistics) {
+        this(driver, defaultTimeout, minPoll, maxPoll, statistics, NO_PAGE);
+    }
+
+    private WaitEngine(WebDriver driver, Duration defaultTimeout, Duration minPoll, Duration maxPoll,
+                       WaitStatistics statistics, String page) {
+        if (minPoll.isNegative() || minPoll.isZero() || maxPoll.compareTo(minPoll) < 0) {
+            throw new IllegalArgumentException("Invalid polling bounds " + minPoll + ".." + maxPoll);
+        }
+        this.driver = driver;
+        this.defaultTimeout = defaultTimeout;
+        this.minPoll = minPoll;
+        this.maxPoll = maxPoll;
+        this.statistics = statistics;
+        this.page = page;
+    }
+
+    /*
+     * Build an engine with the timeout and polling from the techspace.wait.* settings
+     */
+    public static WaitEngine configured(WebDriver driver, WaitStatistics statistics) {
+        return new WaitEngine(driver,
+                Duration.ofSeconds(Settings.integer("techspace.wait.timeout", (int) DEFAULT_TIMEOUT.toSeconds())),
+                Duration.ofMillis(Settings.integer("techspace.wait.poll.min", (int) DEFAULT_MIN_POLL.toMillis())),
+                Duration.ofMillis(Settings.integer("techspace.wait.poll.max", (int) DEFAULT_MAX_POLL.toMillis())),
+                statistics);
+    }
+
+    /*
+     * Same engine (driver, settings, statistics), recording its waits under the given page
+     */
+    public WaitEngine forPage(String pageName) {
+        return new WaitEngine(driver, defaultTimeout, minPoll, maxPoll, statistics, pageName);
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public WaitStatistics getStatistics() {
+        return statistics;
+    }
+
+    // ============================================
+    // CONDITIONS
+    // ============================================
+
+    /*
+     * Wait up to the default timeout until the condition returns neither null nor false
+     * Drop-in for WebDriverWait.until(), e.g. until(ExpectedConditions.visibilityOfElementLocated(...))
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(describe(condition), condition, defaultTimeout);
+    }
+
+    /*
+     * Wait up to the given timeout until the condition returns neither null nor false
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        return until(describe(condition), condition, timeout);
+    }
+
+    /*
+     * Wait up to the given timeout, recording the wait under the given description
+     * Element lookups failing or going stale count as "not yet"; on timeout a
+     * TimeoutException is thrown with the last of those failures as cause.
+     */
+    public <T> T until(String description, Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Backoff backoff = new Backoff();
+        RuntimeException lastFailure = null;
+        long timing = StepTimer.waitStarted();
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        record(description, start, backoff.polls, false);
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastFailure = e;
+                }
+                if (System.nanoTime() >= deadline) {
+                    record(description, start, backoff.polls, true);
+                    throw new TimeoutException("Expected condition failed: waiting for " + description
+                            + " (tried for " + timeout.toMillis() + " ms, " + backoff.polls + " polls)", lastFailure);
+                }
+                backoff.pause(deadline);
+            }
+        } finally {
+            StepTimer.waitFinished(timing);
+        }
+    }
+
+    // ============================================
+    // PRESENCE AND ABSENCE
+    // ============================================
+
+    /*
+     * Check that no element matching the locator shows up within the given window
+     * Returns false as soon as one appears
+     */
+    public boolean isAbsentWithin(By locator, Duration within) {
+        long start = System.nanoTime();
+        long deadline = start + within.toNanos();
+        Backoff backoff = new Backoff();
+        long timing = StepTimer.waitStarted();
+        try {
+            while (true) {
+                // A healed look-alike must not count as present
+                if (!HealingIndex.withoutHealing(() -> driver.findElements(locator)).isEmpty()) {
+                    record("absence of " + locator, start, backoff.polls, false);
+                    return false;
+                }
+                if (System.nanoTime() >= deadline) {
+                    record("absence of " + locator, start, backoff.polls, false);
+                    return true;
+                }
+                backoff.pause(deadline);
+            }
+        } finally {
+            StepTimer.waitFinished(timing);
+        }
+    }
+
+    /*
+     * Check that an element matching the locator shows up within the given window
+     * Returns true as soon as one appears; like isAbsentWithin, never counts a healed look-alike
+     */
+    public boolean isPresentWithin(By locator, Duration within) {
+        return !isAbsentWithin(locator, within);
+    }
+
+    // ============================================
+    // RACE OVER SEVERAL LOCATORS
+    // ============================================
+
+    /*
+     * A locator that won a race and the element it found
+     */
+    public record Match(By locator, WebElement element) {
+    }
+
+    /*
+     * Wait for the first of several locators to match an element with non-empty text
+     */
+    public Optional<Match> firstWithText(Duration timeout, By... locators) {
+        return race(timeout, true, locators);
+    }
+
+    private Optional<Match> race(Duration timeout, boolean requireText, By... locators) {
+        List<List<Object>> remote = new ArrayList<>();
+        boolean allRemotable = true;
+        for (By locator : locators) {
+            List<Object> parameters = remoteParameters(locator);
+            allRemotable &= parameters != null;
+            remote.add(parameters);
+        }
+
+        String description = (requireText ? "first with text of " : "first of ") + List.of(locators);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Backoff backoff = new Backoff();
+        long timing = StepTimer.waitStarted();
+        try {
+            while (true) {
+                Optional<Match> match = allRemotable && driver instanceof JavascriptExecutor
+                        ? raceInBrowser(remote, requireText, locators)
+                        : raceLocally(requireText, locators);
+                if (match.isPresent() || System.nanoTime() >= deadline) {
+                    record(description, start, backoff.polls, match.isEmpty());
+                    return match;
+                }
+                backoff.pause(deadline);
+            }
+        } finally {
+            StepTimer.waitFinished(timing);
+        }
+    }
+
+    // One executeScript for all locators
+    private Optional<Match> raceInBrowser(List<List<Object>> remote, boolean requireText, By[] locators) {
+        Object result = ((JavascriptExecutor) driver).executeScript(RACE_SCRIPT, remote, requireText);
+        if (result instanceof List<?> hit && hit.size() == 2 && hit.get(1) instanceof WebElement element) {
+            return Optional.of(new Match(locators[((Number) hit.get(0)).intValue()], element));
+        }
+        return Optional.empty();
+    }
+
+    // One findElements per locator, for locator types the script does not understand
+    private Optional<Match> raceLocally(boolean requireText, By[] locators) {
+        for (By locator : locators) {
+            for (WebElement element : driver.findElements(locator)) {
+                try {
+                    if (!requireText || !element.getText().isBlank()) {
+                        return Optional.of(new Match(locator, element));
+                    }
+                } catch (StaleElementReferenceException e) {
+                    // Re-rendered while we looked at it, check the next one
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<Object> remoteParameters(By locator) {
+        if (locator instanceof Locator ranked) {
+            // The script checks one locator per entry: use the preferred strategy
+            locator = ranked.candidates().get(0);
+        }
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            String using = parameters.using();
+            if (using.equals("xpath") || using.equals("css selector") || using.equals("tag name")) {
+                return List.of(using, String.valueOf(parameters.value()));
+            }
+        }
+        return null;
+    }
+
+    // ============================================
+    // POLLING AND STATISTICS
+    // ============================================
+
+    /*
+     * Poll interval of one wait: minPoll, growing by BACKOFF_FACTOR up to maxPoll,
+     * never sleeping past the deadline
+     */
+    private final class Backoff {
+        private long nextNanos = minPoll.toNanos();
+        int polls = 1;
+
+        void pause(long deadline) {
+            long sleepNanos = Math.min(nextNanos, Math.max(0, deadline - System.nanoTime()));
+            nextNanos = Math.min((long) (nextNanos * BACKOFF_FACTOR), maxPoll.toNanos());
+            polls++;
+            try {
+                Thread.sleep(Duration.ofNanos(sleepNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting", e);
+            }
+        }
+    }
+
+    private void record(String description, long start, int polls, boolean timedOut) {
+        statistics.record(page, description, System.nanoTime() - start, polls, timedOut);
+    }
+
+    // ExpectedConditions describe themselves; lambdas only have a generated class name
+    private static String describe(Object condition) {
+        String description = String.valueOf(condition);
+        return description.contains("$$Lambda") ? "custom condition" : description;
+    }
+}
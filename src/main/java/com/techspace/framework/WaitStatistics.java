@@ -0,0 +1,71 @@
+package com.techspace.framework;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Time spent in explicit waits, per page and condition
+ * Shared by every WaitEngine of a run so the suite-end report shows which pages are slow
+ */
+public class WaitStatistics {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /*
+     * Record one finished wait
+     */
+    public void record(String page, String condition, long nanos, int polls, boolean timedOut) {
+        Entry entry = entries.computeIfAbsent(page + " | " + condition, key -> new Entry(page, condition));
+        entry.count.increment();
+        entry.totalNanos.add(nanos);
+        entry.polls.add(polls);
+        if (timedOut) {
+            entry.timeouts.increment();
+        }
+        entry.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /*
+     * Total wait time per page, then the slowest conditions
+     */
+    public String report(int topConditions) {
+        Map<String, Long> nanosByPage = new ConcurrentHashMap<>();
+        entries.values().forEach(entry -> nanosByPage.merge(entry.page, entry.totalNanos.sum(), Long::sum));
+
+        StringBuilder report = new StringBuilder("Wait statistics (total wait per page):");
+        nanosByPage.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(page -> report.append("\n  ").append(page.getKey()).append(": ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(page.getValue())).append(" ms"));
+
+        report.append("\nSlowest conditions:");
+        entries.values().stream()
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.totalNanos.sum()).reversed())
+                .limit(topConditions)
+                .forEach(entry -> report.append("\n  ").append(entry.page).append(" | ").append(entry.condition)
+                        .append(": ").append(entry.count.sum()).append(" waits, total ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(entry.totalNanos.sum())).append(" ms, max ")
+                        .append(TimeUnit.NANOSECONDS.toMillis(entry.maxNanos.get())).append(" ms, ")
+                        .append(entry.polls.sum()).append(" polls, ")
+                        .append(entry.timeouts.sum()).append(" timeouts"));
+        return report.toString();
+    }
+
+    private static final class Entry {
+        final String page;
+        final String condition;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder polls = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        Entry(String page, String condition) {
+            this.page = page;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.techspace.pages;
+
+import com.techspace.framework.DevToolsCapture;
+import com.techspace.framework.ElementCache;
+import com.techspace.framework.HealingIndex;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.ReadinessEngine;
+import com.techspace.framework.StepTimer;
+import com.techspace.framework.WaitEngine;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/*
+ * Common base of all page objects
+ * Holds the driver and the session's shared WaitEngine, labelled with the page
+ * so the wait statistics show which page spends the time
+ */
+public abstract class BasePage {
+    WebDriver driver;
+    WaitEngine wait;
+    ElementCache elements;
+    DevToolsCapture devTools;
+    ReadinessEngine readinessEngine;
+
+    // Timeout for page objects built without a shared engine
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    // ============================================
+    // CONSTRUCTOR
+    // ============================================
+
+    /*
+     * Page with its own wait engine (10 second timeout)
+     */
+    protected BasePage(WebDriver driver) {
+        this(driver, new WaitEngine(driver, DEFAULT_TIMEOUT));
+    }
+
+    /*
+     * Page using the given (usually per-session) wait engine
+     */
+    protected BasePage(WebDriver driver, WaitEngine waits) {
+        this.driver = driver;
+        this.wait = waits.forPage(getClass().getSimpleName());
+        this.elements = new ElementCache(driver, getClass().getSimpleName());
+        this.devTools = DevToolsCapture.of(driver);
+        this.readinessEngine = new ReadinessEngine(driver, devTools, getClass().getSimpleName());
+    }
+
+    // ============================================
+    // CACHED ELEMENT WAITS
+    // ============================================
+
+    /*
+     * Wait until the element is displayed, reusing the cached element when possible
+     * (same as visibilityOfElementLocated, minus the findElement on a cache hit)
+     */
+    protected WebElement visible(By locator) {
+        return wait.until("visibility of " + locator, driver -> {
+            WebElement element = elements.get(locator);
+            return element.isDisplayed() ? element : null;
+        }, wait.getDefaultTimeout());
+    }
+
+    /*
+     * Wait until the element is displayed and enabled, reusing the cached element when possible
+     */
+    protected WebElement clickable(By locator) {
+        return wait.until("clickability of " + locator, driver -> {
+            WebElement element = elements.get(locator);
+            return element.isDisplayed() && element.isEnabled() ? element : null;
+        }, wait.getDefaultTimeout());
+    }
+
+    /*
+     * Whether the element is displayed right now (no waiting, no healed look-alikes)
+     */
+    protected boolean isShown(By locator) {
+        try {
+            return HealingIndex.withoutHealing(() -> elements.get(locator).isDisplayed());
+        } catch (NotFoundException | StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Whether the element is displayed within the timeout (no healed look-alikes either)
+     */
+    protected boolean isShownWithin(By locator, Duration timeout) {
+        try {
+            return wait.until("visibility of " + locator, driver -> isShown(locator), timeout);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    // ============================================
+    // READINESS
+    // ============================================
+
+    /*
+     * What the page must show before its actions can run (see Readiness)
+     */
+    protected abstract Readiness readiness();
+
+    /*
+     * Whether the page's readiness contract holds, checked once without waiting
+     * (Navigator polls it after opening the page's route)
+     */
+    public boolean isReady() {
+        return readinessEngine.isReady(readiness());
+    }
+
+    /*
+     * Wait until the page's readiness contract holds
+     * Use after an action that brings up this page, instead of polling document.readyState
+     */
+    public void waitUntilReady() {
+        try {
+            wait.until(getClass().getSimpleName() + " ready", driver -> isReady(), wait.getDefaultTimeout());
+        } catch (TimeoutException e) {
+            throw new TimeoutException(getClass().getSimpleName() + " not ready, still waiting for "
+                    + readinessEngine.pending() + " (contract: " + readiness().describe() + ")", e);
+        }
+    }
+
+    // ============================================
+    // NETWORK WAITS
+    // ============================================
+
+    /*
+     * Wait until a request after the mark that matches has finished or failed
+     * Only call when devTools.isActive(); returns null on timeout
+     */
+    protected DevToolsCapture.Exchange finishedRequest(String description, long mark,
+                                                       Predicate<DevToolsCapture.Exchange> matching, Duration timeout) {
+        try {
+            return wait.until(description, driver -> devTools.finishedSince(mark, matching).orElse(null), timeout);
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+
+    // ============================================
+    // STEP TIMING
+    // ============================================
+
+    /*
+     * Time an action of this page, reported as "<Page>.<action>" (see StepTimer)
+     */
+    protected <T> T step(String action, Supplier<T> body) {
+        return StepTimer.step(getClass().getSimpleName() + "." + action, body);
+    }
+
+    protected void step(String action, Runnable body) {
+        StepTimer.step(getClass().getSimpleName() + "." + action, body);
+    }
+}
@@ -1,39 +1,97 @@
 package com.techspace.pages;
 
+import com.techspace.framework.DevToolsCapture;
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.WebElement;
 
 import java.time.Duration;
+import java.util.List;
 
 /*
  * Page Object Model for Cart Page
  */
-public class CartPage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class CartPage extends BasePage {
 
     // ============================================
     // LOCATORS
     // ============================================
-    By productTitle = By.xpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[1]/div/h6");
-    By checkoutButton = By.xpath("//*[@id=\"root\"]/div/div[2]/div[2]/button");
-    By increaseQuantityButton = By.xpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[2]/button[2]");
-    By decreaseQuantityButton = By.xpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[2]/button[1]");
-    By removeItemButton = By.xpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[1]/div/button");
-    By clearCartButton = By.xpath("//*[@id=\"root\"]/div/div[1]/button");
+    By productTitle = Locator.named("CartPage.productTitle")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[1]/div/h6")
+            .css("#root > div > div + div h6");
+    By checkoutButton = Locator.named("CartPage.checkoutButton")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[2]/button")
+            .text("button", "Checkout");
+    By increaseQuantityButton = Locator.named("CartPage.increaseQuantityButton")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[2]/button[2]")
+            .label("button", "increase quantity");
+    By decreaseQuantityButton = Locator.named("CartPage.decreaseQuantityButton")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[2]/button[1]")
+            .label("button", "decrease quantity");
+    By removeItemButton = Locator.named("CartPage.removeItemButton")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[1]/div/button")
+            .text("button", "Remove");
+    By clearCartButton = Locator.named("CartPage.clearCartButton")
+            .knownXpath("//*[@id=\"root\"]/div/div[1]/button")
+            .text("button", "Clear Cart");
     By emptyCartMessage = By.tagName("h2");
 
-    By quantityAndPriceDisplay = By.xpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[1]/div/p");
-    By totalAmountDisplay = By.xpath("//*[@id=\"root\"]/div/div[2]/div[2]/h5");
+    By quantityAndPriceDisplay = Locator.named("CartPage.quantityAndPriceDisplay")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[1]/div[1]/div/p")
+            .css("#root > div > div + div h6 + p");
+    By totalAmountDisplay = Locator.named("CartPage.totalAmountDisplay")
+            .knownXpath("//*[@id=\"root\"]/div/div[2]/div[2]/h5")
+            .css("#root > div > div + div h5");
+
+    // Reads the text of title, quantity/price line, total and empty message in one round-trip
+    // arguments: the candidate [using, value] pairs of each locator, preferred first;
+    // returns null while the cart is not rendered yet
+    private static final String SNAPSHOT_SCRIPT =
+            "function find(using, value) {"
+                    + "  if (using === 'xpath') {"
+                    + "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+                    + "  }"
+                    + "  return using === 'css selector' ? document.querySelector(value) : document.getElementsByTagName(value)[0];"
+                    + "}"
+                    + "function text(candidates) {"
+                    + "  for (var i = 0; i < candidates.length; i++) {"
+                    + "    var node = find(candidates[i][0], candidates[i][1]);"
+                    + "    if (node) { return (node.innerText || node.textContent || '').trim(); }"
+                    + "  }"
+                    + "  return null;"
+                    + "}"
+                    + "var texts = [text(arguments[0]), text(arguments[1]), text(arguments[2]), text(arguments[3])];"
+                    + "return (texts[1] !== null && texts[2] !== null) || texts[3] !== null ? texts : null;";
+
+    // URL part of the requests that change the cart (POST .../cart/{id}/increase etc.)
+    static final String CART_REQUEST = "/cart";
+
+    // How long a quantity change may take to show up in the cart
+    static final Duration UPDATE_TIMEOUT = Duration.ofSeconds(5);
+
+    // Time spent waiting for quantity changes to show up
+    private Duration lastUpdateWait = Duration.ZERO;
+    private Duration totalUpdateWait = Duration.ZERO;
+
+    // Ready once the cart has been fetched and shows its items (line and total) or the empty message
+    private final Readiness readiness = Readiness.shown(quantityAndPriceDisplay, emptyCartMessage)
+            .andShown(totalAmountDisplay, emptyCartMessage)
+            .andNetworkIdle();
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public CartPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public CartPage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -44,53 +102,102 @@ public class CartPage {
      * Get product title from cart
      */
     public String getProductTitle() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(productTitle)).getText();
+        return step("getProductTitle", () ->
+                visible(productTitle).getText());
     }
 
     /*
      * Get empty cart message
      */
     public String getEmptyCartMessage() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(emptyCartMessage)).getText();
+        return step("getEmptyCartMessage", () ->
+                visible(emptyCartMessage).getText());
     }
 
     /*
      * Click checkout button
      */
     public void clickCheckoutButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(checkoutButton)).click();
+        step("clickCheckoutButton", () -> clickable(checkoutButton).click());
     }
 
     /*
      * Click increase quantity button
      */
     public void clickIncreaseQuantityButton() {
-//        wait.until(ExpectedConditions.elementToBeClickable(increaseQuantityButton)).click();
-        driver.findElement(increaseQuantityButton).click();
+        step("clickIncreaseQuantityButton", () ->
+                clickable(increaseQuantityButton).click());
     }
 
     /*
      * Click decrease quantity button
      */
     public void clickDecreaseQuantityButton() {
-//        wait.until(ExpectedConditions.elementToBeClickable(decreaseQuantityButton)).click();
-        driver.findElement(decreaseQuantityButton).click();
+        step("clickDecreaseQuantityButton", () ->
+                clickable(decreaseQuantityButton).click());
+    }
+
+    /*
+     * Increase quantity and wait until the cart shows the change
+     * Returns false if nothing changed within the timeout (e.g. stock limit reached)
+     */
+    public boolean increaseQuantity() {
+        return increaseQuantity(UPDATE_TIMEOUT);
+    }
+
+    /*
+     * Increase quantity and wait up to the given timeout for the cart to change
+     */
+    public boolean increaseQuantity(Duration timeout) {
+        return step("increaseQuantity", () -> clickAndWaitForUpdate(increaseQuantityButton, timeout));
+    }
+
+    /*
+     * Decrease quantity and wait until the cart shows the change
+     * Returns false if nothing changed within the timeout (e.g. quantity already 1)
+     */
+    public boolean decreaseQuantity() {
+        return decreaseQuantity(UPDATE_TIMEOUT);
+    }
+
+    /*
+     * Decrease quantity and wait up to the given timeout for the cart to change
+     */
+    public boolean decreaseQuantity(Duration timeout) {
+        return step("decreaseQuantity", () -> clickAndWaitForUpdate(decreaseQuantityButton, timeout));
+    }
+
+    /*
+     * Time the last increaseQuantity()/decreaseQuantity() waited for the cart to update
+     */
+    public Duration getLastUpdateWait() {
+        return lastUpdateWait;
+    }
+
+    /*
+     * Total time this page waited for quantity updates
+     */
+    public Duration getTotalUpdateWait() {
+        return totalUpdateWait;
     }
 
     /*
      * Click remove item button
      */
     public void clickRemoveItemButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(removeItemButton)).click();
+        step("clickRemoveItemButton", () ->
+                clickable(removeItemButton).click());
     }
 
     /*
      * Click clear cart button
      */
     public void clickClearCartButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(clearCartButton)).click();
-        // Wait for empty cart message
-        wait.until(ExpectedConditions.visibilityOfElementLocated(emptyCartMessage));
+        step("clickClearCartButton", () -> {
+            clickable(clearCartButton).click();
+            // Wait for empty cart message
+            visible(emptyCartMessage);
+        });
     }
 
     /*
@@ -98,44 +205,119 @@ public class CartPage {
      * Extracts quantity from combined text like "1 × 1200$" or "2 × 1200$"
      */
     public int getQuantity() {
-        String combinedText = wait.until(
-                ExpectedConditions.visibilityOfElementLocated(quantityAndPriceDisplay)
-        ).getText();
-        String quantityStr = combinedText.split("[×x]")[0].trim();
-        return Integer.parseInt(quantityStr);
+        return step("getQuantity", () -> {
+            String combinedText = visible(quantityAndPriceDisplay).getText();
+            return CartText.quantity(combinedText);
+        });
     }
 
     /*
-     * Get unit price of product
+     * Get unit price of product in cents
      * Extracts unit price from combined text like "1 × 1200$" or "2 × 1200$"
      */
-    public double getUnitPrice() {
-        String combinedText = wait.until(
-                ExpectedConditions.visibilityOfElementLocated(quantityAndPriceDisplay)
-        ).getText();
-        String priceStr = combinedText.split("[×x]")[1].trim();
-        // Remove all non-numeric characters except decimal point
-        String numericValue = priceStr.replaceAll("[^0-9.]", "");
-        return Double.parseDouble(numericValue);
+    public long getUnitPriceCents() {
+        return step("getUnitPriceCents", () -> {
+            String combinedText = visible(quantityAndPriceDisplay).getText();
+            return CartText.unitPriceCents(combinedText);
+        });
     }
 
     /*
-     * Get total amount displayed in cart
+     * Get total amount displayed in cart in cents
      * Extracts amount from text like "Total Amount: 1200$"
      */
-    public double getTotalAmount() {
-        String totalText = wait.until(
-                ExpectedConditions.visibilityOfElementLocated(totalAmountDisplay)
-        ).getText();
-        // Remove all non-numeric characters except decimal point
-        String numericValue = totalText.replaceAll("[^0-9.]", "");
-        return Double.parseDouble(numericValue);
+    public long getTotalAmountCents() {
+        return step("getTotalAmountCents", () -> {
+            String totalText = visible(totalAmountDisplay).getText();
+            return CartText.cents(totalText);
+        });
+    }
+
+    /*
+     * Get title, quantity, unit price, total and empty state with a single script call
+     * Waits until the cart has rendered either its items or the empty message
+     */
+    public CartSnapshot snapshot() {
+        return step("snapshot", () -> {
+            List<?> texts = wait.until("cart snapshot", driver -> readSnapshotTexts(), wait.getDefaultTimeout());
+            String lineText = (String) texts.get(1);
+            String totalText = (String) texts.get(2);
+            if (lineText == null || totalText == null) {
+                return new CartSnapshot(null, 0, 0, 0, true);
+            }
+            return new CartSnapshot((String) texts.get(0), CartText.quantity(lineText),
+                    CartText.unitPriceCents(lineText), CartText.cents(totalText), false);
+        });
+    }
+
+    /*
+     * Click a button and wait until the quantity/price line or total changes
+     * With DevTools the cart request is awaited first: a rejected request (e.g. "Low stock")
+     * means no change right away, instead of polling the DOM until the timeout
+     */
+    private boolean clickAndWaitForUpdate(By button, Duration timeout) {
+        // Read the state only once the cart is rendered, or a late first render counts as the update
+        WebElement target = clickable(button);
+        String stateBefore = readCartState();
+        long mark = devTools.mark();
+        target.click();
+
+        long start = System.nanoTime();
+        boolean changed;
+        try {
+            if (devTools.isActive()) {
+                DevToolsCapture.Exchange request = finishedRequest("cart request", mark,
+                        DevToolsCapture.request(null, CART_REQUEST), timeout);
+                if (request == null || !request.ok()) {
+                    throw new TimeoutException("Cart not updated: " + (request == null ? "no request" : request.describe()));
+                }
+            }
+            wait.until("cart update", driver -> !readCartState().equals(stateBefore), timeout);
+            changed = true;
+        } catch (TimeoutException e) {
+            changed = false;
+        }
+        lastUpdateWait = Duration.ofNanos(System.nanoTime() - start);
+        totalUpdateWait = totalUpdateWait.plus(lastUpdateWait);
+        return changed;
     }
 
     /*
-     * Calculate expected total based on quantity and unit price
+     * Current quantity/price line and total as one comparable string
      */
-    public double calculateExpectedTotal(int quantity, double unitPrice) {
-        return quantity * unitPrice;
+    private String readCartState() {
+        List<?> texts = readSnapshotTexts();
+        return texts == null ? "|" : texts.get(1) + "|" + texts.get(2);
+    }
+
+    /*
+     * Texts of title, quantity/price line, total and empty message (null = not on the page)
+     * or null if the cart is not rendered yet
+     */
+    private List<?> readSnapshotTexts() {
+        Object result = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT,
+                remote(productTitle), remote(quantityAndPriceDisplay), remote(totalAmountDisplay),
+                remote(emptyCartMessage));
+        return result instanceof List<?> texts ? texts : null;
+    }
+
+    private static List<List<Object>> remote(By locator) {
+        List<By> candidates = locator instanceof Locator ranked ? ranked.candidates() : List.of(locator);
+        return candidates.stream().map(candidate -> {
+            By.Remotable.Parameters parameters = ((By.Remotable) candidate).getRemoteParameters();
+            return List.<Object>of(parameters.using(), String.valueOf(parameters.value()));
+        }).toList();
+    }
+
+    /*
+     * Calculate expected total in cents based on quantity and unit price
+     */
+    public long calculateExpectedTotalCents(int quantity, long unitPriceCents) {
+        return Math.multiplyExact(quantity, unitPriceCents);
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
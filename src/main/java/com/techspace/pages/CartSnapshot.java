@@ -0,0 +1,18 @@
+package com.techspace.pages;
+
+/*
+ * Everything the cart page shows for its first item, read in one round-trip
+ * (see CartPage.snapshot())
+ *
+ * Amounts are in cents (see CartText). For an empty cart, title is null and
+ * quantity, unit price and total are 0
+ */
+public record CartSnapshot(String title, int quantity, long unitPriceCents, long totalCents, boolean empty) {
+
+    /*
+     * Expected total in cents for the displayed quantity and unit price
+     */
+    public long expectedTotalCents() {
+        return Math.multiplyExact(quantity, unitPriceCents);
+    }
+}
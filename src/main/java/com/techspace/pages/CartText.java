@@ -0,0 +1,150 @@
+package com.techspace.pages;
+
+/*
+ * Parses the numbers the cart displays
+ *
+ *   "2 × 1299.99$"             quantity 2, unit price 129999 cents
+ *   "Total Amount: 2599.98$"   259998 cents
+ *
+ * Amounts are exact fixed-point cents, so totals compare with == instead of
+ * a double tolerance. The currency symbol may come before or after the
+ * number ("$1,299.99", "1299.99 EGP"). A '.' or ',' followed by exactly three
+ * digits groups thousands; followed by one or two digits it is the decimal
+ * point ("1.299,99" works too); followed by no digit it ends the number.
+ * Anything else ("1,2345", "1.299.99", "1,299.999") is a NumberFormatException
+ * rather than a wrong amount. Each parse is a single pass over the text,
+ * without regex, substrings or boxing; only a failed parse allocates (for
+ * the exception message).
+ */
+public final class CartText {
+
+    private static final long MAX_UNITS = Long.MAX_VALUE / 100 - 1;
+
+    private CartText() {
+    }
+
+    /*
+     * First whole number in the text: "2 × 1299.99$" -> 2
+     */
+    public static int quantity(CharSequence text) {
+        int length = text.length();
+        int i = firstDigit(text, 0, length);
+        if (i == length) {
+            throw new NumberFormatException("No quantity in: " + text);
+        }
+        int quantity = 0;
+        for (; i < length && isDigit(text.charAt(i)); i++) {
+            if (quantity > (Integer.MAX_VALUE - 9) / 10) {
+                throw new NumberFormatException("Quantity too large: " + text);
+            }
+            quantity = quantity * 10 + (text.charAt(i) - '0');
+        }
+        return quantity;
+    }
+
+    /*
+     * Amount after the "×" (or "x") of a quantity/price line: "2 × 1299.99$" -> 129999
+     */
+    public static long unitPriceCents(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '×' || c == 'x') {
+                return cents(text, i + 1, length);
+            }
+        }
+        throw new NumberFormatException("No \"×\" in quantity/price line: " + text);
+    }
+
+    /*
+     * First amount in the text: "Total Amount: 2599.98$" -> 259998
+     */
+    public static long cents(CharSequence text) {
+        return cents(text, 0, text.length());
+    }
+
+    /*
+     * First amount between from (inclusive) and to (exclusive)
+     */
+    static long cents(CharSequence text, int from, int to) {
+        int i = firstDigit(text, from, to);
+        if (i == to) {
+            throw new NumberFormatException("No amount in: " + text);
+        }
+        long units = 0;
+        int fraction = 0;
+        int fractionDigits = -1; // -1 while still in the whole units
+        char thousands = 0;      // separator seen grouping thousands, 0 before the first
+        for (; i < to; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (fractionDigits < 0) {
+                    if (units > MAX_UNITS / 10) {
+                        throw new NumberFormatException("Amount too large: " + text);
+                    }
+                    units = units * 10 + (c - '0');
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else {
+                    throw new NumberFormatException("More than two decimals in: " + text);
+                }
+            } else if (c == '.' || c == ',') {
+                int digits = digitsAt(text, i + 1, to);
+                if (digits == 0) {
+                    break; // punctuation after the number
+                }
+                if (fractionDigits >= 0) {
+                    throw new NumberFormatException("Separator after the decimals in: " + text);
+                }
+                if (digits == 3) {
+                    if (thousands != 0 && thousands != c) {
+                        throw new NumberFormatException("Mixed thousands separators in: " + text);
+                    }
+                    thousands = c;
+                    continue;
+                }
+                if (digits > 3) {
+                    throw new NumberFormatException(digits + " digits after '" + c + "' in: " + text);
+                }
+                if (c == thousands) {
+                    throw new NumberFormatException("'" + c + "' groups thousands and marks decimals in: " + text);
+                }
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        return units * 100 + (fractionDigits == 1 ? fraction * 10 : fraction);
+    }
+
+    /*
+     * 129999 -> "1299.99", for messages (allocates)
+     */
+    public static String formatCents(long cents) {
+        long whole = Math.abs(cents / 100);
+        long rest = Math.abs(cents % 100);
+        return (cents < 0 ? "-" : "") + whole + (rest < 10 ? ".0" : ".") + rest;
+    }
+
+    private static int firstDigit(CharSequence text, int from, int to) {
+        int i = from;
+        while (i < to && !isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Number of consecutive digits starting at from
+    private static int digitsAt(CharSequence text, int from, int to) {
+        int i = from;
+        while (i < to && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i - from;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -1,31 +1,41 @@
 package com.techspace.pages;
 
+import com.techspace.framework.DevToolsCapture;
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
 /*
  * Page Object Model for Checkout Page
  */
-public class CheckoutPage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class CheckoutPage extends BasePage {
 
     // ============================================
     // LOCATORS
     // ============================================
     By addressField = By.name("address");
-    By payButton = By.xpath("//*[@id=\"root\"]/div/button");
+    By payButton = Locator.named("CheckoutPage.payButton")
+            .knownXpath("//*[@id=\"root\"]/div/button")
+            .css("#root > div > input[name='address'] ~ button");
+
+    // URL part of the request that places the order
+    static final String ORDER_REQUEST = "/order";
+
+    // Ready once the address form is shown
+    private final Readiness readiness = Readiness.shown(addressField).andShown(payButton);
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public CheckoutPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public CheckoutPage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -36,22 +46,42 @@ public class CheckoutPage {
      * Enter delivery address
      */
     public void enterAddress(String address) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(addressField)).sendKeys(address);
+        step("enterAddress", () ->
+                visible(addressField).sendKeys(address));
     }
 
     /*
      * Click pay button to complete order
+     * With DevTools the order request is awaited first, so a rejected order fails
+     * right away with the server's answer instead of timing out on the URL
      */
     public void clickPayButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(payButton)).click();
-        wait.until(ExpectedConditions.urlContains("/order-success"));
+        step("clickPayButton", () -> {
+            long mark = devTools.mark();
+            clickable(payButton).click();
+            if (devTools.isActive()) {
+                DevToolsCapture.Exchange order = finishedRequest("order request", mark,
+                        DevToolsCapture.request("POST", ORDER_REQUEST), wait.getDefaultTimeout());
+                if (order != null && !order.ok()) {
+                    throw new IllegalStateException("Order was not placed: " + order.describe());
+                }
+            }
+            wait.until(ExpectedConditions.urlContains("/order-success"));
+        });
     }
 
     /*
      * Complete checkout with address
      */
     public void completeCheckout(String address) {
-        enterAddress(address);
-        clickPayButton();
+        step("completeCheckout", () -> {
+            enterAddress(address);
+            clickPayButton();
+        });
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
@@ -1,36 +1,61 @@
 package com.techspace.pages;
 
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
 /*
  * Page Object Model for Home Page
  */
-public class HomePage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class HomePage extends BasePage {
 
     // ============================================
     // LOCATORS
     // ============================================
-    By userEmailDisplay = By.xpath("//*[@id=\"root\"]/header/div/div/div/div/div/div[1]/p");
-    By loginPageNavButton = By.xpath("//*[@id=\"root\"]/header/div/div/div/div/button[2]");
-    By cartIconButton = By.xpath("//*[@id=\"root\"]/header/div/div/div/div/button");
-    By addToCartButton = By.xpath("//*[@id=\"root\"]/div/div/div[2]/div/div[3]/button");
-    By userMenuButton = By.xpath("//*[@id=\"root\"]/header/div/div/div/div/div/div[2]/button");
-    By myOrdersPageNavButton = By.xpath("//*[@id=\"menu-appbar\"]/div[3]/ul/li[1]");
-    By logoutButton = By.xpath("//*[@id=\"menu-appbar\"]/div[3]/ul/li[2]/p");
+    By userEmailDisplay = Locator.named("HomePage.userEmailDisplay")
+            .knownXpath("//*[@id=\"root\"]/header/div/div/div/div/div/div[1]/p")
+            .css("#root > header p");
+    By loginPageNavButton = Locator.named("HomePage.loginPageNavButton")
+            .knownXpath("//*[@id=\"root\"]/header/div/div/div/div/button[2]")
+            .css("#root > header button:not([aria-label])");
+    By cartIconButton = Locator.named("HomePage.cartIconButton")
+            .knownXpath("//*[@id=\"root\"]/header/div/div/div/div/button")
+            .label("button", "cart");
+    By addToCartButton = Locator.named("HomePage.addToCartButton")
+            .knownXpath("//*[@id=\"root\"]/div/div/div[2]/div/div[3]/button")
+            .text("button", "Add to Cart");
+    By userMenuButton = Locator.named("HomePage.userMenuButton")
+            .knownXpath("//*[@id=\"root\"]/header/div/div/div/div/div/div[2]/button")
+            .label("button", "account menu");
+    By myOrdersPageNavButton = Locator.named("HomePage.myOrdersPageNavButton")
+            .knownXpath("//*[@id=\"menu-appbar\"]/div[3]/ul/li[1]")
+            .role("menuitem", "My Orders");
+    By logoutButton = Locator.named("HomePage.logoutButton")
+            .knownXpath("//*[@id=\"menu-appbar\"]/div[3]/ul/li[2]/p")
+            .role("menuitem", "Logout");
+
+    // Once the page is ready the navbar shows either the user or the login button,
+    // so probing the session needs no more than this
+    private static final Duration SESSION_PROBE_WINDOW = Duration.ofSeconds(1);
+
+    // Ready once the products are listed and the navbar shows the session (user or login button)
+    private final Readiness readiness = Readiness.shown(addToCartButton)
+            .andShown(userEmailDisplay, loginPageNavButton);
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public HomePage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public HomePage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -41,56 +66,67 @@ public class HomePage {
      * Get the displayed user email from navbar
      */
     public String getUserEmail() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(userEmailDisplay)).getText();
+        return step("getUserEmail", () ->
+                visible(userEmailDisplay).getText());
     }
 
     /*
       Navigate to Login Page
      */
     public void clickLoginButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(loginPageNavButton)).click();
-        wait.until(ExpectedConditions.urlContains("/login"));
+        step("clickLoginButton", () -> {
+            clickable(loginPageNavButton).click();
+            wait.until(ExpectedConditions.urlContains("/login"));
+        });
     }
 
     /*
      * Navigate to Cart Page
      */
     public void clickCartIcon() {
-        wait.until(ExpectedConditions.elementToBeClickable(cartIconButton)).click();
+        step("clickCartIcon", () -> {
+            clickable(cartIconButton).click();
 //        wait.until(ExpectedConditions.urlContains("/cart"));
+        });
     }
 
     /*
      * Add a product to cart
      */
     public void addProductToCart() {
-        wait.until(ExpectedConditions.elementToBeClickable(addToCartButton)).click();
+        step("addProductToCart", () -> clickable(addToCartButton).click());
     }
 
     /*
      * Click user menu to open dropdown
      */
     public void clickUserMenu() {
-        wait.until(ExpectedConditions.elementToBeClickable(userMenuButton)).click();
-        // Wait for dropdown menu to appear
-        wait.until(ExpectedConditions.visibilityOfElementLocated(myOrdersPageNavButton));
+        step("clickUserMenu", () -> {
+            clickable(userMenuButton).click();
+            // Wait for dropdown menu to appear
+            visible(myOrdersPageNavButton);
+        });
     }
 
     /*
      * Navigate to My Orders Page
      */
     public void navToMyOrdersPage() {
-        wait.until(ExpectedConditions.elementToBeClickable(myOrdersPageNavButton)).click();
-        wait.until(ExpectedConditions.urlContains("/my-orders"));
+        step("navToMyOrdersPage", () -> {
+            clickable(myOrdersPageNavButton).click();
+            wait.until(ExpectedConditions.urlContains("/my-orders"));
+        });
     }
 
     /*
      * Click Logout Button
      */
     public void clickLogoutButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(logoutButton)).click();
-        // Wait for redirect to home page after logout
-        wait.until(ExpectedConditions.visibilityOfElementLocated(loginPageNavButton));
+        step("clickLogoutButton", () -> {
+            clickable(logoutButton).click();
+            // Wait for redirect to home page after logout
+            visible(loginPageNavButton);
+        });
     }
 
     // ============================================
@@ -101,32 +137,34 @@ public class HomePage {
      * Check if user is logged in (user email is displayed)
      */
     public boolean isUserLoggedIn() {
-        try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(userEmailDisplay)).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return step("isUserLoggedIn", () -> isShownWithin(userEmailDisplay, wait.getDefaultTimeout()));
     }
 
     /*
      * Check if Login button is displayed in navbar (user is logged out)
      */
     public boolean isLoginButtonDisplayed() {
-        try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(loginPageNavButton)).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return step("isLoginButtonDisplayed", () -> isShownWithin(loginPageNavButton, wait.getDefaultTimeout()));
     }
 
     /*
      * Check if user menu is displayed (user is logged in)
      */
     public boolean isUserMenuDisplayed() {
-        try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(userMenuButton)).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return step("isUserMenuDisplayed", () -> isShownWithin(userMenuButton, wait.getDefaultTimeout()));
+    }
+
+    /*
+     * Whether the ready page shows a logged-in user, answered within a short window
+     * For probing a session that may not be logged in (e.g. a rejected cached token);
+     * assertions that expect the user should use isUserLoggedIn()
+     */
+    public boolean showsLoggedInSession() {
+        return step("showsLoggedInSession", () -> isShownWithin(userEmailDisplay, SESSION_PROBE_WINDOW));
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
@@ -1,36 +1,47 @@
 package com.techspace.pages;
 
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
 /*
  * Page Object Model for Login Page
  */
-public class LoginPage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class LoginPage extends BasePage {
 
     // ============================================
     // LOCATORS
     // ============================================
     By emailField = By.name("email");
     By passwordField = By.name("password");
-    By loginButton = By.xpath("//*[@id=\"root\"]/div/div/div/button");
-    By registerLink = By.xpath("//*[@id=\"root\"]/div/div/div/p/a");
+    By loginButton = Locator.named("LoginPage.loginButton")
+            .knownXpath("//*[@id=\"root\"]/div/div/div/button")
+            .css("#root > div input ~ button");
+    By registerLink = Locator.named("LoginPage.registerLink")
+            .knownXpath("//*[@id=\"root\"]/div/div/div/p/a")
+            .text("a", "Register")
+            .css("#root > div a[href='/register']");
 
     // Error message locators
-    By errorMessage = By.xpath("//*[@id=\"root\"]/div/div/div/p[1]");
+    By errorMessage = Locator.named("LoginPage.errorMessage")
+            .knownXpath("//*[@id=\"root\"]/div/div/div/p[1]")
+            .css("#root > div div > p:first-child");
+
+    // Ready once the login form is shown
+    private final Readiness readiness = Readiness.shown(emailField).andShown(loginButton);
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public LoginPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public LoginPage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -41,42 +52,47 @@ public class LoginPage {
      * Enter email address
      */
     public void enterEmail(String email) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
+        step("enterEmail", () -> visible(emailField).sendKeys(email));
     }
 
     /*
      * Enter password
      */
     public void enterPassword(String password) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(passwordField)).sendKeys(password);
+        step("enterPassword", () ->
+                visible(passwordField).sendKeys(password));
     }
 
     /*
      * Click login button
      */
     public void clickLoginButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(loginButton)).click();
+        step("clickLoginButton", () -> clickable(loginButton).click());
     }
 
     /*
      * Navigate to Registration Page
      */
     public void clickRegisterLink() {
-        wait.until(ExpectedConditions.elementToBeClickable(registerLink)).click();
-        wait.until(ExpectedConditions.urlContains("/register"));
+        step("clickRegisterLink", () -> {
+            clickable(registerLink).click();
+            wait.until(ExpectedConditions.urlContains("/register"));
+        });
     }
 
     /*
      * Complete login process with credentials
      */
     public void login(String email, String password) {
-        if (email != null && !email.isEmpty()) {
-            enterEmail(email);
-        }
-        if (password != null && !password.isEmpty()) {
-            enterPassword(password);
-        }
-        clickLoginButton();
+        step("login", () -> {
+            if (email != null && !email.isEmpty()) {
+                enterEmail(email);
+            }
+            if (password != null && !password.isEmpty()) {
+                enterPassword(password);
+            }
+            clickLoginButton();
+        });
     }
 
     // ============================================
@@ -87,13 +103,20 @@ public class LoginPage {
      * Get error message displayed on the page
      */
     public String getErrorMessage() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).getText();
+        return step("getErrorMessage", () ->
+                visible(errorMessage).getText());
     }
 
     /*
      * Check if user is still on login page (login failed)
      */
     public boolean isOnLoginPage() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(loginButton)).isDisplayed();
+        return step("isOnLoginPage", () ->
+                visible(loginButton).isDisplayed());
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
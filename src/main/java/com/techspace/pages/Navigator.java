@@ -0,0 +1,151 @@
+package com.techspace.pages;
+
+import com.techspace.framework.EventLog;
+import com.techspace.framework.Settings;
+import com.techspace.framework.StepTimer;
+import com.techspace.framework.WaitEngine;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Opens app routes directly and waits until their page is ready
+ *
+ * Tests that only need to be on a page (the cart, the orders list) go there
+ * in one step instead of clicking the cart icon or the user menu and waiting
+ * after each click. Clicking through the navbar stays in the tests that check
+ * the navigation itself.
+ *
+ * When the app is already open on one of its routes, the route is changed in
+ * the page the way the app's own links do it (history.pushState plus a
+ * popstate event), so the app and the session are not loaded again;
+ * otherwise the URL is loaded. If the pushed route hasn't rendered within a
+ * short window (a router that doesn't listen to popstate), the URL is loaded
+ * after all. After a change behind the app's back (a cart seeded through the
+ * API) call reloadOnNextOpen(), or the app would show its stale in-memory state.
+ *
+ *   -Dtechspace.navigation.inApp        change routes in the open app, default true
+ *   -Dtechspace.navigation.inAppMillis  window for the open page to be ready and for a pushed
+ *                                       route to render, default 2000
+ */
+public class Navigator {
+
+    // Push the route and tell the router, like a click on one of the app's links
+    private static final String PUSH_ROUTE_SCRIPT =
+            "window.history.pushState({}, '', arguments[0]);"
+                    + "window.dispatchEvent(new PopStateEvent('popstate', { state: {} }));";
+
+    private final WebDriver driver;
+    private final WaitEngine wait;
+    private final String baseUrl;
+    private final boolean inApp = Settings.flag("techspace.navigation.inApp", true);
+    private final Duration inAppWindow = Duration.ofMillis(Settings.integer("techspace.navigation.inAppMillis", 2000));
+    private boolean reloadNext;
+    private final Map<Route, BasePage> pages = new EnumMap<>(Route.class);
+
+    public Navigator(WebDriver driver, WaitEngine waits, String baseUrl) {
+        this.driver = driver;
+        this.wait = waits.forPage("Navigator");
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /*
+     * Page object that tells when a route has rendered
+     */
+    public Navigator page(Route route, BasePage page) {
+        pages.put(route, page);
+        return this;
+    }
+
+    // ============================================
+    // NAVIGATION
+    // ============================================
+
+    /*
+     * Go to the route and wait until its page is ready
+     * Throws IllegalStateException if the app shows another page instead (e.g. the login page)
+     */
+    public void open(Route route) {
+        Route landed = tryOpen(route);
+        if (landed != route) {
+            throw new IllegalStateException("Opening " + route.path() + " ended on " + landed.path()
+                    + (landed == Route.LOGIN ? " - the user is not logged in" : ""));
+        }
+    }
+
+    /*
+     * Go to the route and return where the app ended up once that page is ready:
+     * the route itself, or the login page for a protected route without a session
+     */
+    public Route tryOpen(Route route) {
+        return StepTimer.step("Navigator.open " + route.path(), () -> {
+            boolean push = !reloadNext && isAppStarted();
+            reloadNext = false;
+            if (push) {
+                ((JavascriptExecutor) driver).executeScript(PUSH_ROUTE_SCRIPT, route.path());
+                try {
+                    return wait.until("route " + route.path() + " rendered in the page",
+                            driver -> arrived(route), inAppWindow);
+                } catch (TimeoutException e) {
+                    EventLog.info("Route " + route.path() + " did not render after pushState, loading it instead");
+                }
+            }
+            driver.get(baseUrl + route.path());
+            return wait.until("route " + route.path() + " ready", driver -> arrived(route), wait.getDefaultTimeout());
+        });
+    }
+
+    /*
+     * Load the URL on the next open instead of changing the route in the page
+     * Call after changing server state the open app has cached (e.g. the cart through the API)
+     */
+    public void reloadOnNextOpen() {
+        reloadNext = true;
+    }
+
+    /*
+     * Route the browser is on, or null outside the app's known routes
+     */
+    public Route currentRoute() {
+        String url = driver.getCurrentUrl();
+        if (url == null || !url.startsWith(baseUrl)) {
+            return null;
+        }
+        String path = URI.create(url).getPath();
+        return Route.ofPath(path == null ? "/" : path);
+    }
+
+    // Whether a route can be pushed: the app is open and has rendered its current page
+    // (a route pushed while it is still starting up is undone by its first render).
+    // Waits only the in-app window: a page that isn't ready by then is cheaper to load again.
+    private boolean isAppStarted() {
+        Route from = inApp ? currentRoute() : null;
+        if (from == null) {
+            return false;
+        }
+        try {
+            wait.until("route " + from.path() + " ready", driver -> isReady(from), inAppWindow);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    // Where the app ended up if it is the route (or the login page instead) and that page is ready
+    private Route arrived(Route route) {
+        Route current = currentRoute();
+        boolean arrived = current == route || (route.requiresLogin() && current == Route.LOGIN);
+        return arrived && isReady(current) ? current : null;
+    }
+
+    // Routes without a registered page only wait for the URL
+    private boolean isReady(Route route) {
+        BasePage page = pages.get(route);
+        return page == null || page.isReady();
+    }
+}
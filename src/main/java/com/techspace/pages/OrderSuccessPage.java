@@ -1,30 +1,35 @@
 package com.techspace.pages;
 
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
 /*
  * Page Object Model for Order Success Page
  */
-public class OrderSuccessPage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class OrderSuccessPage extends BasePage {
 
     // ============================================
     // LOCATORS
     // ============================================
-    By successMessage = By.xpath("//*[@id=\"root\"]/div/h4");
+    By successMessage = Locator.named("OrderSuccessPage.successMessage")
+            .knownXpath("//*[@id=\"root\"]/div/h4")
+            .css("#root > div h4");
+
+    // Ready once the confirmation is shown
+    private final Readiness readiness = Readiness.shown(successMessage);
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public OrderSuccessPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public OrderSuccessPage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -35,6 +40,12 @@ public class OrderSuccessPage {
      * Get order success message
      */
     public String getSuccessMessage() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(successMessage)).getText();
+        return step("getSuccessMessage", () ->
+                visible(successMessage).getText());
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
@@ -1,31 +1,38 @@
 package com.techspace.pages;
 
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
 
 /*
  * Page Object Model for Orders Page
  */
-public class OrdersPage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class OrdersPage extends BasePage {
 
     // ============================================
     // LOCATORS
     // ============================================
     By pageHeading = By.cssSelector("#root > div > p");
-    By orderLocator = By.className("css-1jhqtcx");
+    // Order cards follow the heading; the generated emotion class is only the last resort
+    By orderLocator = Locator.named("OrdersPage.orderLocator")
+            .css(".css-1jhqtcx")
+            .testId("order");
+
+    // Ready once the heading is shown and the orders have been fetched
+    private final Readiness readiness = Readiness.shown(pageHeading).andNetworkIdle();
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public OrdersPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public OrdersPage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -36,16 +43,20 @@ public class OrdersPage {
      * Get page heading text
      */
     public String getPageHeading() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(pageHeading)).getText();
+        return step("getPageHeading", () ->
+                visible(pageHeading).getText());
     }
 
+    /*
+     * Count the orders listed on the page
+     */
     public int calculateNumberOfOrders() {
-        int numberOfOrders = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(orderLocator)).size();;
-        if (numberOfOrders > 0) {
-            System.out.println("Number of orders: " + numberOfOrders);
-        } else {
-            System.out.println("No orders found on the page!");
-        }
-        return numberOfOrders;
+        return step("calculateNumberOfOrders", () ->
+                wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(orderLocator)).size());
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
@@ -1,18 +1,20 @@
 package com.techspace.pages;
 
+import com.techspace.framework.DevToolsCapture;
+import com.techspace.framework.Locator;
+import com.techspace.framework.Readiness;
+import com.techspace.framework.WaitEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
+import java.util.Optional;
 
 /*
  * Page Object Model for Registration Page
  */
-public class RegisterPage {
-    WebDriver driver;
-    WebDriverWait wait;
+public class RegisterPage extends BasePage {
 
     // ============================================
     // LOCATORS
@@ -21,17 +23,33 @@ public class RegisterPage {
     By lastNameField = By.name("lastName");
     By emailField = By.name("email");
     By passwordField = By.name("password");
-    By registerButton = By.xpath("//*[@id=\"root\"]/div/div/div/button");
+    By registerButton = Locator.named("RegisterPage.registerButton")
+            .knownXpath("//*[@id=\"root\"]/div/div/div/button")
+            .css("#root > div input ~ button");
 
     // Error message locator
-    By errorMessage = By.xpath("//*[@id=\"root\"]/div/div/div/p[1]");
+    By errorMessage = Locator.named("RegisterPage.errorMessage")
+            .knownXpath("//*[@id=\"root\"]/div/div/div/p[1]")
+            .css("#root > div div > p:first-child");
+
+    // URL part of the registration request
+    static final String REGISTER_REQUEST = "/register";
+
+    // Position in the DevTools capture when the form was last submitted
+    private long submitMark;
+
+    // Ready once the registration form is shown
+    private final Readiness readiness = Readiness.shown(firstNameField).andShown(registerButton);
 
     // ============================================
     // CONSTRUCTOR
     // ============================================
     public RegisterPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        super(driver);
+    }
+
+    public RegisterPage(WebDriver driver, WaitEngine waits) {
+        super(driver, waits);
     }
 
     // ============================================
@@ -42,54 +60,62 @@ public class RegisterPage {
      * Enter first name
      */
     public void enterFirstName(String firstName) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(firstNameField)).sendKeys(firstName);
+        step("enterFirstName", () ->
+                visible(firstNameField).sendKeys(firstName));
     }
 
     /*
      * Enter last name
      */
     public void enterLastName(String lastName) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(lastNameField)).sendKeys(lastName);
+        step("enterLastName", () ->
+                visible(lastNameField).sendKeys(lastName));
     }
 
     /*
      * Enter email address
      */
     public void enterEmail(String email) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
+        step("enterEmail", () -> visible(emailField).sendKeys(email));
     }
 
     /*
      * Enter password
      */
     public void enterPassword(String password) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(passwordField)).sendKeys(password);
+        step("enterPassword", () ->
+                visible(passwordField).sendKeys(password));
     }
 
     /*
      * Click register button
      */
     public void clickRegisterButton() {
-        wait.until(ExpectedConditions.elementToBeClickable(registerButton)).click();
+        step("clickRegisterButton", () -> {
+            submitMark = devTools.mark();
+            clickable(registerButton).click();
+        });
     }
 
     /*
      * Complete registration with all details
      */
     public void register(String firstName, String lastName, String email, String password) {
-        if (firstName != null && !firstName.isEmpty()) {
-            enterFirstName(firstName);
-        }
-        if (lastName != null && !lastName.isEmpty()) {
-            enterLastName(lastName);
-        }
-        if (email != null && !email.isEmpty()) {
-            enterEmail(email);
-        }
-        if (password != null && !password.isEmpty()) {
-            enterPassword(password);
-        }
-        clickRegisterButton();
+        step("register", () -> {
+            if (firstName != null && !firstName.isEmpty()) {
+                enterFirstName(firstName);
+            }
+            if (lastName != null && !lastName.isEmpty()) {
+                enterLastName(lastName);
+            }
+            if (email != null && !email.isEmpty()) {
+                enterEmail(email);
+            }
+            if (password != null && !password.isEmpty()) {
+                enterPassword(password);
+            }
+            clickRegisterButton();
+        });
     }
 
     // ============================================
@@ -100,13 +126,49 @@ public class RegisterPage {
      * Get error message displayed on the page
      */
     public String getErrorMessage() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).getText();
+        return step("getErrorMessage", () ->
+                visible(errorMessage).getText());
+    }
+
+    /*
+     * Wait until the form submission has an outcome:
+     * an error message is shown or the app navigated away from /register
+     * With DevTools the register request tells which of the two to wait for
+     */
+    public void waitForSubmissionResult() {
+        step("waitForSubmissionResult", () -> {
+            ExpectedCondition<Boolean> shownOutcome = ExpectedConditions.or(
+                    ExpectedConditions.visibilityOfElementLocated(errorMessage),
+                    ExpectedConditions.not(ExpectedConditions.urlContains("/register"))
+            );
+            if (!devTools.isActive()) {
+                wait.until(shownOutcome);
+                return;
+            }
+            // Whichever comes first: the request's answer, or an outcome without one (validated in the form)
+            Object first = wait.until("register outcome", driver -> {
+                Optional<DevToolsCapture.Exchange> request =
+                        devTools.finishedSince(submitMark, DevToolsCapture.request("POST", REGISTER_REQUEST));
+                return request.isPresent() ? request.get() : shownOutcome.apply(driver) ? Boolean.TRUE : null;
+            }, wait.getDefaultTimeout());
+            if (first instanceof DevToolsCapture.Exchange request && request.ok()) {
+                wait.until(ExpectedConditions.not(ExpectedConditions.urlContains("/register")));
+            } else if (first instanceof DevToolsCapture.Exchange) {
+                wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage));
+            }
+        });
     }
 
     /*
      * Check if error message is displayed
      */
     public boolean isErrorDisplayed() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).isDisplayed();
+        return step("isErrorDisplayed", () ->
+                visible(errorMessage).isDisplayed());
+    }
+
+    @Override
+    protected Readiness readiness() {
+        return readiness;
     }
 }
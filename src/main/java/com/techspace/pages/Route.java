@@ -0,0 +1,49 @@
+package com.techspace.pages;
+
+/*
+ * Client-side routes of the TechSpace single-page app
+ * Opened directly with Navigator instead of clicking through the navbar and menus
+ */
+public enum Route {
+    HOME("/", false),
+    LOGIN("/login", false),
+    REGISTER("/register", false),
+    CART("/cart", true),
+    CHECKOUT("/checkout", true),
+    ORDER_SUCCESS("/order-success", true),
+    MY_ORDERS("/my-orders", true);
+
+    private final String path;
+    private final boolean requiresLogin;
+
+    Route(String path, boolean requiresLogin) {
+        this.path = path;
+        this.requiresLogin = requiresLogin;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /*
+     * Whether the app sends a logged-out user to the login page instead
+     */
+    public boolean requiresLogin() {
+        return requiresLogin;
+    }
+
+    /*
+     * Route of a URL path ("/cart", "/cart/"), or null for a path the app doesn't know
+     */
+    public static Route ofPath(String urlPath) {
+        String normalized = urlPath.length() > 1 && urlPath.endsWith("/")
+                ? urlPath.substring(0, urlPath.length() - 1)
+                : urlPath.isEmpty() ? "/" : urlPath;
+        for (Route route : values()) {
+            if (route.path.equals(normalized)) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,297 @@
+package com.techspace.localapp;
+
+import com.techspace.tests.TestData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * In-memory users, products, carts and orders of the local TechSpace stand-in
+ *
+ * Seeded with the TestData accounts. All methods are synchronized because the
+ * HTTP server handles requests on several threads.
+ */
+class LocalStore {
+
+    // ============================================
+    // MESSAGES (same text as the live app)
+    // ============================================
+    static final String ERROR_CHECK_DATA = "Check Submitted Data!";
+    static final String ERROR_USER_EXISTS = "User already exists!";
+    static final String ERROR_INCORRECT_CREDENTIALS = "Incorrect Email or Password!";
+    static final String ERROR_LOW_STOCK = "Low stock for item!";
+
+    record User(String firstName, String lastName, String email, String password) {
+    }
+
+    record Product(int id, String title, long price, int stock) {
+    }
+
+    record Order(String id, String address, List<Map<String, Object>> items, long total) {
+    }
+
+    /*
+     * Thrown for requests the live app rejects; carries the HTTP status and message
+     */
+    static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private final Map<String, User> users = new HashMap<>();
+    private final Map<String, String> emailByToken = new HashMap<>();
+    private final Map<Integer, Product> products = new LinkedHashMap<>();
+    private final Map<String, LinkedHashMap<Integer, Integer>> carts = new HashMap<>();
+    private final Map<String, List<Order>> orders = new HashMap<>();
+
+    LocalStore() {
+        reset();
+    }
+
+    // ============================================
+    // RESET
+    // ============================================
+
+    /*
+     * Restore the seed data (all accounts, products, carts and orders)
+     */
+    synchronized void reset() {
+        users.clear();
+        emailByToken.clear();
+        products.clear();
+        carts.clear();
+        orders.clear();
+
+        products.put(1, new Product(1, TestData.PRODUCT_NAME, 1200, 6));
+        for (User user : seedUsers()) {
+            resetAccount(user.email());
+        }
+    }
+
+    /*
+     * Restore the seed state of the given accounts only
+     * Seeded accounts get an empty cart and their seed orders back; accounts
+     * created during the run are deleted. Other accounts are left alone, so
+     * this is safe while tests on other accounts are running.
+     */
+    synchronized void resetAccounts(Collection<String> emails) {
+        for (String email : emails) {
+            resetAccount(email);
+        }
+    }
+
+    private void resetAccount(String email) {
+        String key = email.toLowerCase();
+        carts.remove(key);
+        orders.remove(key);
+        User seed = seedUsers().stream().filter(user -> user.email().equals(key)).findFirst().orElse(null);
+        if (seed == null) {
+            users.remove(key);
+            emailByToken.values().removeIf(key::equals);
+            return;
+        }
+        users.put(key, seed);
+        // The orders page tests expect the shared checkout account to have order history
+        if (key.equals(TestData.USER7_EMAIL)) {
+            Product product = products.get(1);
+            orders.computeIfAbsent(key, k -> new ArrayList<>()).add(new Order(
+                    "seed-1", TestData.DELIVERY_ADDRESS, List.of(cartLine(product, 1)), product.price()));
+        }
+    }
+
+    private static List<User> seedUsers() {
+        return List.of(
+                new User(TestData.USER1_FIRST_NAME, TestData.USER1_LAST_NAME, TestData.USER1_EMAIL, TestData.USER1_PASSWORD),
+                new User(TestData.USER2_FIRST_NAME, TestData.USER2_LAST_NAME, TestData.USER2_EMAIL, TestData.USER2_PASSWORD),
+                new User(TestData.USER3_FIRST_NAME, TestData.USER3_LAST_NAME, TestData.USER3_EMAIL, TestData.USER3_PASSWORD),
+                new User(TestData.USER4_FIRST_NAME, TestData.USER4_LAST_NAME, TestData.USER4_EMAIL, TestData.USER4_PASSWORD),
+                new User(TestData.USER5_FIRST_NAME, TestData.USER5_LAST_NAME, TestData.USER5_EMAIL, TestData.USER5_PASSWORD),
+                new User(TestData.USER6_FIRST_NAME, TestData.USER6_LAST_NAME, TestData.USER6_EMAIL, TestData.USER6_PASSWORD),
+                new User(TestData.USER7_FIRST_NAME, TestData.USER7_LAST_NAME, TestData.USER7_EMAIL, TestData.USER7_PASSWORD)
+        );
+    }
+
+    // ============================================
+    // AUTHENTICATION
+    // ============================================
+
+    synchronized Map<String, Object> login(String email, String password) {
+        if (isBlank(email) || isBlank(password)) {
+            throw new ApiException(400, ERROR_CHECK_DATA);
+        }
+        User user = users.get(email.toLowerCase());
+        if (user == null || !user.password().equals(password)) {
+            throw new ApiException(401, ERROR_INCORRECT_CREDENTIALS);
+        }
+        return session(user);
+    }
+
+    /*
+     * Register a new account and log it in
+     * Like the live app, the email format is not validated
+     */
+    synchronized Map<String, Object> register(String firstName, String lastName, String email, String password) {
+        if (isBlank(firstName) || isBlank(lastName) || isBlank(email) || isBlank(password)) {
+            throw new ApiException(400, ERROR_CHECK_DATA);
+        }
+        String key = email.toLowerCase();
+        if (users.containsKey(key)) {
+            throw new ApiException(409, ERROR_USER_EXISTS);
+        }
+        User user = new User(firstName, lastName, key, password);
+        users.put(key, user);
+        return session(user);
+    }
+
+    synchronized Map<String, Object> currentUser(String token) {
+        return userJson(users.get(emailOf(token)));
+    }
+
+    private Map<String, Object> session(User user) {
+        String token = UUID.randomUUID().toString();
+        emailByToken.put(token, user.email());
+        return Map.of("token", token, "user", userJson(user));
+    }
+
+    private String emailOf(String token) {
+        String email = token == null ? null : emailByToken.get(token);
+        if (email == null || !users.containsKey(email)) {
+            throw new ApiException(401, "Unauthorized");
+        }
+        return email;
+    }
+
+    private static Map<String, Object> userJson(User user) {
+        return Map.of("firstName", user.firstName(), "lastName", user.lastName(), "email", user.email());
+    }
+
+    // ============================================
+    // PRODUCTS AND CART
+    // ============================================
+
+    synchronized List<Map<String, Object>> products() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Product product : products.values()) {
+            result.add(Map.of("id", product.id(), "title", product.title(), "price", product.price()));
+        }
+        return result;
+    }
+
+    synchronized Map<String, Object> cart(String token) {
+        return cartJson(emailOf(token));
+    }
+
+    synchronized Map<String, Object> addToCart(String token, int productId) {
+        return changeQuantity(token, productId, 1);
+    }
+
+    /*
+     * Change the quantity of a cart line by delta
+     * Never goes below 1 and never above the product's stock
+     */
+    synchronized Map<String, Object> changeQuantity(String token, int productId, int delta) {
+        String email = emailOf(token);
+        Product product = product(productId);
+        LinkedHashMap<Integer, Integer> cart = carts.computeIfAbsent(email, key -> new LinkedHashMap<>());
+        int current = cart.getOrDefault(productId, 0);
+        int next = current + delta;
+        if (next > product.stock()) {
+            throw new ApiException(400, ERROR_LOW_STOCK);
+        }
+        if (next >= 1) {
+            cart.put(productId, next);
+        }
+        return cartJson(email);
+    }
+
+    synchronized Map<String, Object> setQuantity(String token, int productId, int quantity) {
+        String email = emailOf(token);
+        Product product = product(productId);
+        if (quantity > product.stock()) {
+            throw new ApiException(400, ERROR_LOW_STOCK);
+        }
+        LinkedHashMap<Integer, Integer> cart = carts.computeIfAbsent(email, key -> new LinkedHashMap<>());
+        if (quantity <= 0) {
+            cart.remove(productId);
+        } else {
+            cart.put(productId, quantity);
+        }
+        return cartJson(email);
+    }
+
+    synchronized Map<String, Object> removeFromCart(String token, int productId) {
+        String email = emailOf(token);
+        carts.computeIfAbsent(email, key -> new LinkedHashMap<>()).remove(productId);
+        return cartJson(email);
+    }
+
+    synchronized Map<String, Object> clearCart(String token) {
+        String email = emailOf(token);
+        carts.remove(email);
+        return cartJson(email);
+    }
+
+    private Product product(int productId) {
+        Product product = products.get(productId);
+        if (product == null) {
+            throw new ApiException(404, "Product not found");
+        }
+        return product;
+    }
+
+    private Map<String, Object> cartJson(String email) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Integer, Integer> line : carts.getOrDefault(email, new LinkedHashMap<>()).entrySet()) {
+            Product product = products.get(line.getKey());
+            items.add(cartLine(product, line.getValue()));
+            total += product.price() * line.getValue();
+        }
+        return Map.of("items", items, "total", total);
+    }
+
+    private static Map<String, Object> cartLine(Product product, int quantity) {
+        return Map.of("productId", product.id(), "title", product.title(), "price", product.price(), "quantity", quantity);
+    }
+
+    // ============================================
+    // ORDERS
+    // ============================================
+
+    synchronized List<Map<String, Object>> orders(String token) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Order order : orders.getOrDefault(emailOf(token), List.of())) {
+            result.add(Map.of("id", order.id(), "address", order.address(), "items", order.items(), "total", order.total()));
+        }
+        return result;
+    }
+
+    synchronized Map<String, Object> placeOrder(String token, String address) {
+        String email = emailOf(token);
+        Map<String, Object> cart = cartJson(email);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> items = (List<Map<String, Object>>) cart.get("items");
+        if (isBlank(address) || items.isEmpty()) {
+            throw new ApiException(400, ERROR_CHECK_DATA);
+        }
+        Order order = new Order(UUID.randomUUID().toString(), address, items, (Long) cart.get("total"));
+        orders.computeIfAbsent(email, key -> new ArrayList<>()).add(order);
+        carts.remove(email);
+        return Map.of("id", order.id());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,218 @@
+package com.techspace.localapp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.techspace.framework.Settings;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Embedded stand-in for the TechSpace storefront
+ *
+ * Serves the routes the page objects use (/, /login, /register, /cart,
+ * /checkout, /order-success, /my-orders) as a small single-page app with the
+ * same DOM structure the locators expect, backed by a JSON API over an
+ * in-memory LocalStore. Starts in a few milliseconds and needs no network.
+ *
+ * Enable with -Dtechspace.target=local (port with -Dtechspace.local.port, default: any free port)
+ */
+public final class LocalTechSpace {
+
+    // Whether the suite runs against the stand-in instead of the live deployment
+    public static final boolean ENABLED = "local".equalsIgnoreCase(Settings.string("techspace.target", "live"));
+
+    private static final String API_PREFIX = "/api/";
+    private static final Json JSON = new Json();
+
+    private static LocalTechSpace instance;
+
+    private final LocalStore store = new LocalStore();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] indexHtml;
+
+    private LocalTechSpace(int port) throws IOException {
+        indexHtml = readResource("/localapp/index.html");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-techspace");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    // ============================================
+    // LIFECYCLE
+    // ============================================
+
+    /*
+     * Start the stand-in once per JVM and return its base URL
+     */
+    public static synchronized String start() {
+        if (instance == null) {
+            try {
+                instance = new LocalTechSpace(Settings.integer("techspace.local.port", 0));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the local TechSpace server", e);
+            }
+        }
+        return instance.baseUrl();
+    }
+
+    /*
+     * Reset the given accounts to their seed state (see LocalStore.resetAccounts)
+     * Does nothing when the stand-in is not running
+     */
+    public static synchronized void resetAccounts(Collection<String> emails) {
+        if (instance != null) {
+            instance.store.resetAccounts(emails);
+        }
+    }
+
+    /*
+     * Reset everything to the seed state
+     */
+    public static synchronized void resetAll() {
+        if (instance != null) {
+            instance.store.reset();
+        }
+    }
+
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    // ============================================
+    // HTTP
+    // ============================================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith(API_PREFIX)) {
+                handleApi(exchange, path.substring(API_PREFIX.length()));
+            } else if (path.equals("/favicon.ico")) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                // Every other path is a client-side route of the single-page app
+                send(exchange, 200, "text/html; charset=utf-8", indexHtml);
+            }
+        }
+    }
+
+    private void handleApi(HttpExchange exchange, String route) throws IOException {
+        String method = exchange.getRequestMethod();
+        Map<String, Object> body = readBody(exchange);
+        String token = bearerToken(exchange);
+        Object response;
+        int status = 200;
+        try {
+            String[] parts = route.split("/");
+            response = switch (method + " " + parts[0]) {
+                case "POST auth" -> switch (parts.length > 1 ? parts[1] : "") {
+                    case "login" -> store.login(string(body, "email"), string(body, "password"));
+                    case "register" -> store.register(string(body, "firstName"), string(body, "lastName"),
+                            string(body, "email"), string(body, "password"));
+                    default -> throw new LocalStore.ApiException(404, "Not found");
+                };
+                case "GET me" -> store.currentUser(token);
+                case "GET products" -> store.products();
+                case "GET cart" -> store.cart(token);
+                case "POST cart" -> cartAction(token, parts, body);
+                case "DELETE cart" -> parts.length > 1
+                        ? store.removeFromCart(token, Integer.parseInt(parts[1]))
+                        : store.clearCart(token);
+                case "GET orders" -> store.orders(token);
+                case "POST orders" -> store.placeOrder(token, string(body, "address"));
+                default -> throw new LocalStore.ApiException(404, "Not found");
+            };
+        } catch (LocalStore.ApiException e) {
+            status = e.status;
+            response = Map.of("message", e.getMessage());
+        } catch (RuntimeException e) {
+            status = 400;
+            response = Map.of("message", LocalStore.ERROR_CHECK_DATA);
+        }
+        send(exchange, status, "application/json", JSON.toJson(response).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * POST /api/cart                  {productId}            add one
+     * POST /api/cart/{id}/increase | /decrease              change by one
+     * POST /api/cart/{id}/quantity    {quantity}             set (used by fixtures)
+     */
+    private Object cartAction(String token, String[] parts, Map<String, Object> body) {
+        if (parts.length == 1) {
+            return store.addToCart(token, ((Number) body.get("productId")).intValue());
+        }
+        int productId = Integer.parseInt(parts[1]);
+        String action = parts.length > 2 ? parts[2] : "";
+        return switch (action) {
+            case "increase" -> store.changeQuantity(token, productId, 1);
+            case "decrease" -> store.changeQuantity(token, productId, -1);
+            case "quantity" -> store.setQuantity(token, productId, ((Number) body.get("quantity")).intValue());
+            default -> throw new LocalStore.ApiException(404, "Not found");
+        };
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readAllBytes();
+        if (bytes.length == 0) {
+            return Map.of();
+        }
+        return JSON.toType(new String(bytes, StandardCharsets.UTF_8), Json.MAP_TYPE);
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return header.substring("Bearer ".length());
+    }
+
+    private static String string(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = LocalTechSpace.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.techspace.pages;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/*
+ * Unit tests: parsing the cart's quantities and amounts (no browser)
+ */
+public class CartTextTest {
+
+    /*
+     * Amounts the cart may display and their exact cents
+     */
+    @DataProvider(name = "amounts")
+    public Object[][] getAmounts() {
+        return new Object[][]{
+                // text, cents
+                {"Total Amount: 2599.98$", 259998L},
+                {"$1,299.99", 129999L},
+                {"1299.99 EGP", 129999L},
+                {"1.299,99 €", 129999L},
+                {"1,299,999.99$", 129999999L},
+                {"1299.9$", 129990L},
+                {"1299$", 129900L},
+                {"1,5", 150L},
+                {"Total: 12.50.", 1250L},
+                {"Total: 1,299.", 129900L},
+        };
+    }
+
+    @Test(dataProvider = "amounts")
+    public void testCents(String text, long expected) {
+        Assert.assertEquals(CartText.cents(text), expected, "Cents of \"" + text + "\"");
+    }
+
+    /*
+     * Texts that must fail to parse instead of giving a wrong amount
+     */
+    @DataProvider(name = "malformedAmounts")
+    public Object[][] getMalformedAmounts() {
+        return new Object[][]{
+                {"Total: 1,2345$"},         // 4 digits after the separator
+                {"1.299.99"},               // '.' for thousands and decimals
+                {"1,299.999"},              // mixed thousands separators
+                {"12.50.5"},                // separator after the decimals
+                {"Total Amount: $"},        // no amount
+                {"99999999999999999999"},   // too large
+        };
+    }
+
+    @Test(dataProvider = "malformedAmounts", expectedExceptions = NumberFormatException.class)
+    public void testMalformedCents(String text) {
+        CartText.cents(text);
+    }
+
+    @Test
+    public void testQuantityAndUnitPrice() {
+        Assert.assertEquals(CartText.quantity("2 × 1299.99$"), 2);
+        Assert.assertEquals(CartText.unitPriceCents("2 × 1299.99$"), 129999L);
+        Assert.assertEquals(CartText.unitPriceCents("3 x $1,299.5"), 129950L);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void testUnitPriceWithoutTimesSign() {
+        CartText.unitPriceCents("2 1299.99$");
+    }
+
+    @Test
+    public void testFormatCents() {
+        Assert.assertEquals(CartText.formatCents(129999), "1299.99");
+        Assert.assertEquals(CartText.formatCents(5), "0.05");
+        Assert.assertEquals(CartText.formatCents(-250), "-2.50");
+    }
+}
@@ -1,5 +1,6 @@
 package com.techspace.tests;
 
+import com.techspace.pages.Route;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -28,42 +29,40 @@ public class CheckoutTest extends TestBase {
      */
     @Test(priority = 1, dataProvider = "loginWithValidCredentialsWithAddressAndSuccessMessage")
     public void testCompleteCheckout(String email, String password, String address, String orderSuccessMessage) throws InterruptedException {
-        System.out.println("\n▶ Starting Checkout Test...");
+        step("▶ Starting Checkout Test...");
 
         // ============================================
-        // PRECONDITION: LOGIN AND ADD PRODUCT TO CART
+        // PRECONDITION: LOGIN AND START WITH THE PRODUCT IN THE CART
         // ============================================
         performLogin(email, password);
-        System.out.println("✓ User logged in");
+        step("✓ User logged in");
 
-        homePage.addProductToCart();
-        System.out.println("✓ Product added to cart");
+        startWithCart(TestData.PRODUCT_NAME, 1);
 
         // ============================================
         // STEP 1: NAVIGATE TO CART PAGE
         // ============================================
-        homePage.clickCartIcon();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to cart page");
+        navigator().open(Route.CART);
+        step("✓ Navigated to cart page");
 
         // ============================================
         // STEP 2: PROCEED TO CHECKOUT
         // ============================================
-        cartPage.clickCheckoutButton();
-        waitForPageToLoad();
-        System.out.println("✓ Proceeded to checkout page");
+        cartPage().clickCheckoutButton();
+        checkoutPage().waitUntilReady();
+        step("✓ Proceeded to checkout page");
 
         // ============================================
         // STEP 3: COMPLETE CHECKOUT
         // ============================================
-        checkoutPage.completeCheckout(address);
-        System.out.println("✓ Checkout completed with address: " + address);
+        checkoutPage().completeCheckout(address);
+        step("✓ Checkout completed with address: " + address);
 
         // ============================================
         // STEP 4: VERIFY ORDER SUCCESS
         // ============================================
-        String actualMessage = orderSuccessPage.getSuccessMessage();
+        String actualMessage = orderSuccessPage().getSuccessMessage();
         Assert.assertEquals(actualMessage, orderSuccessMessage, "Order checkout failed - Wrong message displayed!");
-        System.out.println("✓ Test Passed - Order placed successfully!");
+        step("✓ Test Passed - Order placed successfully!");
     }
 }
@@ -1,5 +1,6 @@
 package com.techspace.tests;
 
+import com.techspace.pages.Route;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -28,28 +29,27 @@ public class LoginTest extends TestBase {
      */
     @Test(priority = 1, dataProvider = "loginWithValidCredentials")
     public void testValidLogin(String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-005: Testing Valid Login...");
+        step("▶ TC-AUTH-005: Testing Valid Login...");
 
         // ============================================
         // STEP 1: NAVIGATE TO LOGIN PAGE
         // ============================================
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to login page");
+        homePage().clickLoginButton();
+        loginPage().waitUntilReady();
+        step("✓ Navigated to login page");
 
         // ============================================
         // STEP 2: PERFORM LOGIN
         // ============================================
-        loginPage.login(email, password);
-        waitForPageToLoad();
-        System.out.println("✓ Login credentials submitted");
+        loginPage().login(email, password);
+        step("✓ Login credentials submitted");
 
         // ============================================
         // STEP 3: VERIFY SUCCESSFUL LOGIN
         // ============================================
-        String actualEmail = homePage.getUserEmail();
+        String actualEmail = homePage().getUserEmail();
         Assert.assertEquals(actualEmail, email, "Login failed!");
-        System.out.println("✓ Test Passed - User logged in successfully!");
+        step("✓ Test Passed - User logged in successfully!");
     }
 
     /*
@@ -62,35 +62,35 @@ public class LoginTest extends TestBase {
      */
     @Test(priority = 2, dataProvider = "loginWithValidCredentials")
     public void testUserRemainsLoggedInAfterRefresh(String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-006: Testing User Remains Logged In After Page Refresh...");
+        step("▶ TC-AUTH-006: Testing User Remains Logged In After Page Refresh...");
 
         // ============================================
-        // PRECONDITION: LOGIN
+        // PRECONDITION: LOGIN (through the UI - this test is about the login session)
         // ============================================
-        performLogin(email, password);
-        System.out.println("✓ User logged in successfully");
+        performUiLogin(email, password);
+        step("✓ User logged in successfully");
 
         // ============================================
         // STEP 1: VERIFY USER IS LOGGED IN BEFORE REFRESH
         // ============================================
-        Assert.assertTrue(homePage.isUserLoggedIn(), "User should be logged in!");
-        String emailBeforeRefresh = homePage.getUserEmail();
+        Assert.assertTrue(homePage().isUserLoggedIn(), "User should be logged in!");
+        String emailBeforeRefresh = homePage().getUserEmail();
         Assert.assertEquals(emailBeforeRefresh, email, "User email should be displayed!");
-        System.out.println("✓ Verified user is logged in: " + emailBeforeRefresh);
+        step("✓ Verified user is logged in: " + emailBeforeRefresh);
 
         // ============================================
         // STEP 2: GET TOKEN FROM LOCAL STORAGE BEFORE REFRESH
         // ============================================
         String tokenBeforeRefresh = getLocalStorageToken();
         Assert.assertFalse(tokenBeforeRefresh.isEmpty(), "Token should exist before refresh!");
-        System.out.println("✓ Token found before refresh: " + tokenBeforeRefresh.substring(0, Math.min(20, tokenBeforeRefresh.length())) + "...");
+        step("✓ Token found before refresh: " + tokenBeforeRefresh.substring(0, Math.min(20, tokenBeforeRefresh.length())) + "...");
 
         // ============================================
         // STEP 3: REFRESH THE PAGE
         // ============================================
-        driver.navigate().refresh();
-        waitForPageToLoad();
-        System.out.println("✓ Page refreshed");
+        driver().navigate().refresh();
+        homePage().waitUntilReady();
+        step("✓ Page refreshed");
 
         // ============================================
         // STEP 4: VERIFY TOKEN PERSISTS IN LOCAL STORAGE
@@ -98,23 +98,23 @@ public class LoginTest extends TestBase {
         String tokenAfterRefresh = getLocalStorageToken();
         Assert.assertFalse(tokenAfterRefresh.isEmpty(), "Token should persist after refresh!");
         Assert.assertEquals(tokenAfterRefresh, tokenBeforeRefresh, "Token should be the same after refresh!");
-        System.out.println("✓ Token persists after refresh: " + tokenAfterRefresh.substring(0, Math.min(20, tokenAfterRefresh.length())) + "...");
+        step("✓ Token persists after refresh: " + tokenAfterRefresh.substring(0, Math.min(20, tokenAfterRefresh.length())) + "...");
 
         // ============================================
         // STEP 5: VERIFY USER REMAINS LOGGED IN
         // ============================================
-        Assert.assertTrue(homePage.isUserLoggedIn(), "User should remain logged in after refresh!");
-        String emailAfterRefresh = homePage.getUserEmail();
+        Assert.assertTrue(homePage().isUserLoggedIn(), "User should remain logged in after refresh!");
+        String emailAfterRefresh = homePage().getUserEmail();
         Assert.assertEquals(emailAfterRefresh, email, "User email should still be displayed!");
-        System.out.println("✓ User remains logged in: " + emailAfterRefresh);
+        step("✓ User remains logged in: " + emailAfterRefresh);
 
         // ============================================
         // STEP 6: VERIFY USER MENU IS STILL DISPLAYED
         // ============================================
-        Assert.assertTrue(homePage.isUserMenuDisplayed(), "User menu should still be displayed!");
-        System.out.println("✓ User menu is displayed");
+        Assert.assertTrue(homePage().isUserMenuDisplayed(), "User menu should still be displayed!");
+        step("✓ User menu is displayed");
 
-        System.out.println("✓ Test Passed - User remains logged in after page refresh!");
+        step("✓ Test Passed - User remains logged in after page refresh!");
     }
 
     /*
@@ -155,28 +155,26 @@ public class LoginTest extends TestBase {
      */
     @Test(priority = 3, dataProvider = "incorrectPasswordData")
     public void testLoginWithIncorrectPassword(String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-007: Testing Login with Incorrect Password...");
-        System.out.println("   Email: " + email + " | Password: " + password);
+        step("▶ TC-AUTH-007: Testing Login with Incorrect Password...");
+        step("   Email: " + email + " | Password: " + password);
 
         // STEP 1: NAVIGATE TO LOGIN PAGE
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to login page");
+        navigator().open(Route.LOGIN);
+        step("✓ Navigated to login page");
 
         // STEP 2: ATTEMPT LOGIN WITH WRONG PASSWORD
-        loginPage.login(email, password);
-        waitForPageToLoad();
-        System.out.println("✓ Attempted login with incorrect password");
+        loginPage().login(email, password);
+        step("✓ Attempted login with incorrect password");
 
         // STEP 3: VERIFY ERROR MESSAGE
-        String errorMessage = loginPage.getErrorMessage();
+        String errorMessage = loginPage().getErrorMessage();
         Assert.assertTrue(
                 errorMessage.contains(TestData.ERROR_INCORRECT_CREDENTIALS),
                 "Expected error message not displayed. Actual: " + errorMessage
         );
 
         // STEP 4: VERIFY USER IS STILL ON LOGIN PAGE
-        Assert.assertTrue(loginPage.isOnLoginPage(), "User should not be logged in!");
+        Assert.assertTrue(loginPage().isOnLoginPage(), "User should not be logged in!");
     }
 
     /*
@@ -216,28 +214,26 @@ public class LoginTest extends TestBase {
      */
     @Test(priority = 4, dataProvider = "nonExistentEmailData")
     public void testLoginWithNonExistentEmail(String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-008: Testing Login with Non-Existent Email...");
-        System.out.println("   Email: " + email);
+        step("▶ TC-AUTH-008: Testing Login with Non-Existent Email...");
+        step("   Email: " + email);
 
         // STEP 1: NAVIGATE TO LOGIN PAGE
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to login page");
+        navigator().open(Route.LOGIN);
+        step("✓ Navigated to login page");
 
         // STEP 2: ATTEMPT LOGIN WITH NON-EXISTENT EMAIL
-        loginPage.login(email, password);
-        waitForPageToLoad();
-        System.out.println("✓ Attempted login with non-existent email");
+        loginPage().login(email, password);
+        step("✓ Attempted login with non-existent email");
 
         // STEP 3: VERIFY ERROR MESSAGE
-        String errorMessage = loginPage.getErrorMessage();
+        String errorMessage = loginPage().getErrorMessage();
         Assert.assertTrue(
                 errorMessage.contains(TestData.ERROR_INCORRECT_CREDENTIALS),
                 "Expected error message not displayed. Actual: " + errorMessage
         );
 
         // STEP 4: VERIFY USER IS STILL ON LOGIN PAGE
-        Assert.assertTrue(loginPage.isOnLoginPage(), "User should not be logged in!");
+        Assert.assertTrue(loginPage().isOnLoginPage(), "User should not be logged in!");
     }
 
     /*
@@ -260,25 +256,23 @@ public class LoginTest extends TestBase {
      */
     @Test(priority = 5, dataProvider = "emptyCredentialsData")
     public void testLoginWithEmptyCredentials(String email, String password, String emptyField) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-009: Testing Login with Empty " + emptyField);
+        step("▶ TC-AUTH-009: Testing Login with Empty " + emptyField);
 
         // STEP 1: NAVIGATE TO LOGIN PAGE
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to login page");
+        navigator().open(Route.LOGIN);
+        step("✓ Navigated to login page");
 
         // STEP 2: ATTEMPT LOGIN WITH EMPTY CREDENTIALS
-        loginPage.login(email, password);
-        waitForPageToLoad();
-        System.out.println("✓ Attempted login with empty " + emptyField);
+        loginPage().login(email, password);
+        step("✓ Attempted login with empty " + emptyField);
 
         // STEP 3: VERIFY ERROR MESSAGE
-        String errorMessage = loginPage.getErrorMessage();
+        String errorMessage = loginPage().getErrorMessage();
         Assert.assertEquals(errorMessage, TestData.ERROR_EMPTY_CREDENTIALS,
                 "Expected error message not displayed for empty " + emptyField
         );
 
         // STEP 4: VERIFY USER IS STILL ON LOGIN PAGE
-        Assert.assertTrue(loginPage.isOnLoginPage(), "User should not be logged in!");
+        Assert.assertTrue(loginPage().isOnLoginPage(), "User should not be logged in!");
     }
 }
@@ -1,5 +1,6 @@
 package com.techspace.tests;
 
+import com.techspace.pages.Route;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -28,7 +29,7 @@ public class OrdersTest extends TestBase {
      */
     @Test(priority = 1, dataProvider = "loginWithValidCredentialsWithOrdersPageHeading")
     public void testNavigateToOrdersPage(String email, String password, String ordersPageHeading) throws InterruptedException {
-        System.out.println("\n▶ Starting Orders Page Test...");
+        step("▶ Starting Orders Page Test...");
 
         // ============================================
         // PRECONDITION: LOGIN
@@ -38,22 +39,22 @@ public class OrdersTest extends TestBase {
         // ============================================
         // STEP 1: OPEN USER MENU
         // ============================================
-        homePage.clickUserMenu();
-        System.out.println("✓ User menu opened");
+        homePage().clickUserMenu();
+        step("✓ User menu opened");
 
         // ============================================
         // STEP 2: NAVIGATE TO ORDERS PAGE
         // ============================================
-        homePage.navToMyOrdersPage();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to orders page");
+        homePage().navToMyOrdersPage();
+        ordersPage().waitUntilReady();
+        step("✓ Navigated to orders page");
 
         // ============================================
         // STEP 3: VERIFY ORDERS PAGE DISPLAYED
         // ============================================
-        String actualHeading = ordersPage.getPageHeading();
+        String actualHeading = ordersPage().getPageHeading();
         Assert.assertEquals(actualHeading, ordersPageHeading, "Orders page navigation failed - Wrong page displayed!");
-        System.out.println("✓ Test Passed - Orders page verified with heading: " + actualHeading);
+        step("✓ Test Passed - Orders page verified with heading: " + actualHeading);
     }
 
     /*
@@ -63,18 +64,17 @@ public class OrdersTest extends TestBase {
      */
     @Test(priority = 2, dataProvider = "loginWithValidCredentialsWithOrdersPageHeading")
     public void testOrdersAreDisplayed(String email, String password, String ordersPageHeading) throws InterruptedException {
-        System.out.println("\n▶ Starting Orders Display Test...");
+        step("▶ Starting Orders Display Test...");
 
         // PRECONDITION: LOGIN
         performLogin(email, password);
 
         // NAVIGATE TO ORDERS PAGE
-        homePage.clickUserMenu();
-        homePage.navToMyOrdersPage();
+        navigator().open(Route.MY_ORDERS);
 
         // VERIFY ORDERS ARE DISPLAYED
-        int numberOfOrders = ordersPage.calculateNumberOfOrders();
+        int numberOfOrders = ordersPage().calculateNumberOfOrders();
         Assert.assertTrue(numberOfOrders > 0, "No orders found on the page!");
-        System.out.println("✓ Test Passed - Found " + numberOfOrders + " orders!");
+        step("✓ Test Passed - Found " + numberOfOrders + " orders!");
     }
 }
@@ -1,5 +1,6 @@
 package com.techspace.tests;
 
+import com.techspace.pages.Route;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -28,37 +29,36 @@ public class RegisterTest extends TestBase {
      */
     @Test(priority = 1, dataProvider = "registrationValidCredentials")
     public void testValidRegistration(String firstName, String lastName, String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-001: Testing Valid Registration...");
+        step("▶ TC-AUTH-001: Testing Valid Registration...");
 
         // ============================================
         // STEP 1: NAVIGATE TO REGISTRATION PAGE
         // ============================================
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to login page");
+        homePage().clickLoginButton();
+        loginPage().waitUntilReady();
+        step("✓ Navigated to login page");
 
-        loginPage.clickRegisterLink();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to registration page");
+        loginPage().clickRegisterLink();
+        registerPage().waitUntilReady();
+        step("✓ Navigated to registration page");
 
         // ============================================
         // STEP 2: FILL REGISTRATION FORM
         // ============================================
-        registerPage.register(
+        registerPage().register(
                 firstName,
                 lastName,
                 email,
                 password
         );
-        waitForPageToLoad();
-        System.out.println("✓ Registration form submitted");
+        step("✓ Registration form submitted");
 
         // ============================================
         // STEP 3: VERIFY SUCCESSFUL REGISTRATION
         // ============================================
-        String actualEmail = homePage.getUserEmail();
+        String actualEmail = homePage().getUserEmail();
         Assert.assertEquals(actualEmail, email, "Registration failed!");
-        System.out.println("✓ Test Passed - User registered successfully!");
+        step("✓ Test Passed - User registered successfully!");
     }
 
     /*
@@ -97,22 +97,18 @@ public class RegisterTest extends TestBase {
      */
     @Test(priority = 2, dataProvider = "existingEmailData")
     public void testRegistrationWithExistingEmail(String firstName, String lastName, String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-002: Testing Registration with Existing Email...");
+        step("▶ TC-AUTH-002: Testing Registration with Existing Email...");
 
         // STEP 1: NAVIGATE TO REGISTRATION PAGE
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        loginPage.clickRegisterLink();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to registration page");
+        navigator().open(Route.REGISTER);
+        step("✓ Navigated to registration page");
 
         // STEP 2: ATTEMPT REGISTRATION WITH EXISTING EMAIL
-        registerPage.register(firstName, lastName, email, password);
-        waitForPageToLoad();
-        System.out.println("✓ Attempted registration with existing email: " + email);
+        registerPage().register(firstName, lastName, email, password);
+        step("✓ Attempted registration with existing email: " + email);
 
         // STEP 3: VERIFY ERROR MESSAGE
-        String errorMessage = registerPage.getErrorMessage();
+        String errorMessage = registerPage().getErrorMessage();
 
         Assert.assertTrue(
                 errorMessage.contains(TestData.ERROR_USER_EXISTS) || errorMessage.contains("already exists"),
@@ -141,22 +137,18 @@ public class RegisterTest extends TestBase {
      */
     @Test(priority = 3, dataProvider = "missingFieldsData")
     public void testRegistrationWithMissingFields(String firstName, String lastName, String email, String password, String missingField) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-003: Testing Registration with Missing Field: " + missingField);
+        step("▶ TC-AUTH-003: Testing Registration with Missing Field: " + missingField);
 
         // STEP 1: NAVIGATE TO REGISTRATION PAGE
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        loginPage.clickRegisterLink();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to registration page");
+        navigator().open(Route.REGISTER);
+        step("✓ Navigated to registration page");
 
         // STEP 2: ATTEMPT REGISTRATION WITH MISSING FIELD
-        registerPage.register(firstName, lastName, email, password);
-        waitForPageToLoad();
-        System.out.println("✓ Attempted registration with missing: " + missingField);
+        registerPage().register(firstName, lastName, email, password);
+        step("✓ Attempted registration with missing: " + missingField);
 
         // STEP 3: VERIFY ERROR MESSAGE
-        String errorMessage = registerPage.getErrorMessage();
+        String errorMessage = registerPage().getErrorMessage();
 
         Assert.assertTrue(
                 errorMessage.contains(TestData.ERROR_CHECK_DATA),
@@ -207,25 +199,22 @@ public class RegisterTest extends TestBase {
      */
     @Test(priority = 4, dataProvider = "invalidEmailData")
     public void testRegistrationWithInvalidEmail(String firstName, String lastName, String email, String password) throws InterruptedException {
-        System.out.println("\n▶ TC-AUTH-004: Testing Registration with Invalid Email: " + email);
+        step("▶ TC-AUTH-004: Testing Registration with Invalid Email: " + email);
 
         // STEP 1: NAVIGATE TO REGISTRATION PAGE
-        homePage.clickLoginButton();
-        waitForPageToLoad();
-        loginPage.clickRegisterLink();
-        waitForPageToLoad();
-        System.out.println("✓ Navigated to registration page");
+        navigator().open(Route.REGISTER);
+        step("✓ Navigated to registration page");
 
         // STEP 2: ATTEMPT REGISTRATION WITH INVALID EMAIL
-        registerPage.register(firstName, lastName, email, password);
-        Thread.sleep(1000);
-        System.out.println("✓ Attempted registration with invalid email: " + email);
+        registerPage().register(firstName, lastName, email, password);
+        registerPage().waitForSubmissionResult();
+        step("✓ Attempted registration with invalid email: " + email);
 
         // STEP 3: VERIFY VALIDATION ERROR
-        String errorMessage = registerPage.getErrorMessage();
+        String errorMessage = registerPage().getErrorMessage();
 
         Assert.assertTrue(
-                !errorMessage.isEmpty() || registerPage.isErrorDisplayed(),
+                !errorMessage.isEmpty() || registerPage().isErrorDisplayed(),
                 "Expected validation error not displayed for invalid email: " + email
         );
     }
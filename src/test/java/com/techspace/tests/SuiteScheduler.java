@@ -0,0 +1,309 @@
+package com.techspace.tests;
+
+import com.techspace.framework.FailFastOrder;
+import com.techspace.framework.Settings;
+import com.techspace.framework.ShardPlan;
+import com.techspace.framework.ShardReport;
+import com.techspace.framework.TestHistory;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Decides which tests this JVM runs and in what order, and records how they went
+ *
+ * Sharding: splits the test methods and data-provider rows of the whole
+ * suite into techspace.shard.total shards balanced by their durations in
+ * TestHistory (see ShardPlan) and runs only those of shard
+ * techspace.shard.index (0-based). Every worker computes the same plan, so a
+ * CI matrix only has to pass a different index to each. Rows whose
+ * parameters name the same TestData account all go to one shard: the
+ * AccountScheduler only serializes them within a JVM. Like the scheduler,
+ * this only sees accounts passed as data-provider values.
+ *
+ *   mvn test -Dtechspace.shard.total=3 -Dtechspace.shard.index=0
+ *
+ * Each shard writes its results to techspace.shard.dir (see ShardReport);
+ * merge the collected files into one report and into the history with
+ * ShardReport. Without sharding (the default) the whole suite runs and the
+ * durations and outcomes go straight into the history.
+ *
+ * Ordering: with techspace.order=failfast (the default) the methods of each
+ * <test> and the rows of each data provider run in FailFastOrder - last
+ * run's failures first, fastest first - instead of by priority, so a broken
+ * build shows within seconds. techspace.order=priority keeps the declared
+ * order. Tests must not depend on each other's order for this (each test
+ * starts from a fresh session and seeded accounts).
+ */
+public class SuiteScheduler implements ISuiteListener, IMethodInterceptor, IDataProviderInterceptor, ITestListener {
+
+    private final int total = Settings.integer("techspace.shard.total", 1);
+    private final int index = Settings.integer("techspace.shard.index", 0);
+    private final boolean failFast = Settings.string("techspace.order", "failfast").equalsIgnoreCase("failfast");
+    private final TestHistory history = TestHistory.configured();
+    private volatile ShardPlan plan;
+    private volatile FailFastOrder order;
+    private volatile long suiteStartMillis;
+
+    // "Class.method" -> rows of its data provider (-1 for plain tests), counted once when planning
+    private final Map<String, Integer> rowCounts = new ConcurrentHashMap<>();
+
+    // "Class.method|[row parameters]" -> row unit, to attribute results to the row that ran
+    private final Map<String, String> rowUnits = new ConcurrentHashMap<>();
+    private final List<ShardReport.Outcome> outcomes = new ArrayList<>();
+
+    public SuiteScheduler() {
+        if (total < 1 || index < 0 || index >= total) {
+            throw new IllegalArgumentException("techspace.shard.index must be between 0 and techspace.shard.total - 1"
+                    + " but was " + index + " of " + total);
+        }
+    }
+
+    // ============================================
+    // PLANNING
+    // ============================================
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartMillis = System.currentTimeMillis();
+        Set<String> units = new LinkedHashSet<>();
+        Map<String, List<String>> accountsOfRows = new HashMap<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            Object[][] rows = rows(method);
+            rowCounts.put(unitOf(method), rows == null ? -1 : rows.length);
+            if (rows == null) {
+                units.add(unitOf(method));
+            } else {
+                for (int row = 0; row < rows.length; row++) {
+                    units.add(rowUnit(method, row));
+                    accountsOfRows.put(rowUnit(method, row), TestBase.accountsUsedBy(rows[row]));
+                }
+            }
+        }
+        plan = ShardPlan.balance(units, accountGroups(accountsOfRows), total, history);
+        order = FailFastOrder.of(history, units);
+        if (total > 1) {
+            System.out.println(plan.describe() + "\nRunning shard " + index + " of " + total);
+        }
+        if (failFast) {
+            System.out.println(order.describe(units));
+        }
+    }
+
+    /*
+     * Rows of a data-driven test, by calling its data provider; null for plain tests or providers
+     * that need arguments (those run as one unit)
+     */
+    private static Object[][] rows(ITestNGMethod method) {
+        Method testMethod = method.getConstructorOrMethod().getMethod();
+        Test test = testMethod == null ? null : testMethod.getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            return null;
+        }
+        Class<?> providerClass = test.dataProviderClass() == Object.class ? method.getRealClass() : test.dataProviderClass();
+        for (Method candidate : providerClass.getMethods()) {
+            DataProvider provider = candidate.getAnnotation(DataProvider.class);
+            String name = provider == null ? null : provider.name().isEmpty() ? candidate.getName() : provider.name();
+            if (test.dataProvider().equals(name) && candidate.getParameterCount() == 0) {
+                try {
+                    Object instance = Modifier.isStatic(candidate.getModifiers()) ? null : method.getInstance();
+                    Object rows = candidate.invoke(instance);
+                    return rows instanceof Object[][] array ? array : null;
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Row unit -> shard group: rows sharing an account, directly or through another row, share a group
+     */
+    private static Map<String, String> accountGroups(Map<String, List<String>> accountsOfRows) {
+        // Account -> an account it has to share a shard with (union-find)
+        Map<String, String> linked = new HashMap<>();
+        for (List<String> accounts : accountsOfRows.values()) {
+            for (String account : accounts) {
+                linked.putIfAbsent(account, account);
+                linked.put(root(linked, account), root(linked, accounts.get(0)));
+            }
+        }
+        Map<String, String> groups = new HashMap<>();
+        accountsOfRows.forEach((unit, accounts) -> {
+            if (!accounts.isEmpty()) {
+                groups.put(unit, "account " + root(linked, accounts.get(0)));
+            }
+        });
+        return groups;
+    }
+
+    private static String root(Map<String, String> linked, String account) {
+        String parent = linked.get(account);
+        return parent.equals(account) ? account : root(linked, parent);
+    }
+
+    private static String unitOf(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "." + method.getMethodName();
+    }
+
+    private static String rowUnit(ITestNGMethod method, int row) {
+        return unitOf(method) + "[" + row + "]";
+    }
+
+    // Planned shard; units the plan doesn't know (e.g. rows added since) are spread by name
+    private int shardOf(String unit) {
+        int shard = plan.shardOf(unit);
+        return shard >= 0 ? shard : Math.floorMod(unit.hashCode(), total);
+    }
+
+    // ============================================
+    // SELECTING THIS SHARD'S TESTS
+    // ============================================
+
+    /*
+     * Keep the methods that have the plain test or at least one row on this shard, in fail-fast order
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        List<IMethodInstance> kept = new ArrayList<>();
+        Map<IMethodInstance, FailFastOrder.Rank> ranks = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            List<String> units = unitsOnThisShard(instance.getMethod());
+            if (!units.isEmpty() || rowCounts.getOrDefault(unitOf(instance.getMethod()), -1) == 0) {
+                kept.add(instance);
+                ranks.put(instance, order.rank(units));
+            }
+        }
+        if (failFast) {
+            // Stable sort: equal ranks keep their priority order
+            kept.sort(Comparator.comparing(ranks::get));
+            for (int position = 0; position < kept.size(); position++) {
+                kept.get(position).getMethod().setInterceptedPriority(position);
+            }
+        }
+        return kept;
+    }
+
+    private List<String> unitsOnThisShard(ITestNGMethod method) {
+        int rows = rowCounts.getOrDefault(unitOf(method), -1);
+        List<String> units = new ArrayList<>();
+        if (rows < 0) {
+            units.add(unitOf(method));
+        }
+        for (int row = 0; row < rows; row++) {
+            units.add(rowUnit(method, row));
+        }
+        units.removeIf(unit -> shardOf(unit) != index);
+        return units;
+    }
+
+    /*
+     * Keep this shard's rows of a data-driven test in fail-fast order, remembering which row each one is
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        List<Object[]> kept = new ArrayList<>();
+        Map<Object[], FailFastOrder.Rank> ranks = new IdentityHashMap<>();
+        for (int row = 0; original.hasNext(); row++) {
+            Object[] parameters = original.next();
+            String unit = rowUnit(method, row);
+            rowUnits.putIfAbsent(unitOf(method) + "|" + Arrays.deepToString(parameters), unit);
+            if (shardOf(unit) == index) {
+                kept.add(parameters);
+                ranks.put(parameters, order.rank(unit));
+            }
+        }
+        if (failFast) {
+            kept.sort(Comparator.comparing(ranks::get));
+        }
+        return kept.iterator();
+    }
+
+    // ============================================
+    // RECORDING RESULTS
+    // ============================================
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, ShardReport.Status.PASS);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, ShardReport.Status.FAIL);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result, ShardReport.Status.FAIL);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, ShardReport.Status.SKIP);
+    }
+
+    private void record(ITestResult result, ShardReport.Status status) {
+        ITestNGMethod method = result.getMethod();
+        String unit = unitOf(method);
+        if (result.getParameters().length > 0) {
+            unit = rowUnits.getOrDefault(unit + "|" + Arrays.deepToString(result.getParameters()), unit);
+        }
+        long millis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        String message = result.getThrowable() == null ? "" : String.valueOf(result.getThrowable().getMessage());
+        synchronized (outcomes) {
+            outcomes.add(new ShardReport.Outcome(unit, status, millis, message));
+        }
+        if (status != ShardReport.Status.SKIP) {
+            history.record(unit, millis, status == ShardReport.Status.PASS);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long actualMillis = System.currentTimeMillis() - suiteStartMillis;
+        if (total == 1) {
+            // Unsharded: this run is the whole suite, its durations go straight into the history
+            try {
+                history.save();
+                System.out.println("Test history: " + outcomes.size() + " results recorded in " + history.getFile());
+            } catch (UncheckedIOException e) {
+                System.out.println("Test history: " + e.getMessage() + ": " + e.getCause().getMessage());
+            }
+            return;
+        }
+        // Sharded: the merge folds every shard into the history, so workers sharing a file don't count twice
+        List<ShardReport.Outcome> results;
+        synchronized (outcomes) {
+            results = List.copyOf(outcomes);
+        }
+        System.out.println("Shard " + index + " of " + total + ": " + results.size() + " results in "
+                + ShardReport.write(ShardReport.directory(), index, total, plan.plannedMillis(index), actualMillis, results));
+    }
+}
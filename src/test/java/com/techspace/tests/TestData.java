@@ -1,5 +1,10 @@
 package com.techspace.tests;
 
+import com.techspace.framework.Settings;
+import com.techspace.localapp.LocalTechSpace;
+
+import java.util.List;
+
 /*
  * Centralized test data for all test cases
  * Update values here to change test data across all tests
@@ -9,7 +14,13 @@ public class TestData {
     // ============================================
     // WEBSITE URL
     // ============================================
-    public static final String BASE_URL = "https://techspace-pi.vercel.app";
+    public static final String LIVE_URL = "https://techspace-pi.vercel.app";
+
+    // Live deployment by default; -Dtechspace.target=local runs against the embedded
+    // stand-in (LocalTechSpace) and -Dtechspace.baseUrl points at any other deployment
+    public static final String BASE_URL = LocalTechSpace.ENABLED
+            ? LocalTechSpace.start()
+            : Settings.string("techspace.baseUrl", LIVE_URL);
 
     // ============================================
     // USER CREDENTIALS
@@ -68,6 +79,13 @@ public class TestData {
     public static final String NEW_USER2_EMAIL = "mahmoud@gmail.com";
     public static final String NEW_USER2_PASSWORD = "123";
 
+    // Every account whose server-side cart, orders or registration a test can change
+    // Tests using the same account are never run at the same time (see AccountScheduler)
+    public static final List<String> ACCOUNTS = List.of(
+            USER1_EMAIL, USER2_EMAIL, USER3_EMAIL, USER4_EMAIL, USER5_EMAIL, USER6_EMAIL, USER7_EMAIL,
+            NEW_USER_EMAIL, NEW_USER2_EMAIL
+    );
+
     // ============================================
     // PRODUCT DETAILS
     // ============================================
@@ -0,0 +1,70 @@
+package com.techspace.tests;
+
+import com.techspace.framework.AccountScheduler;
+import com.techspace.framework.DevToolsCapture;
+import com.techspace.framework.DriverLease;
+import com.techspace.framework.ThreadConfinedDriver;
+import com.techspace.framework.WaitEngine;
+import com.techspace.framework.WaitStatistics;
+import com.techspace.pages.*;
+import org.openqa.selenium.WebDriver;
+
+/*
+ * Everything one running test owns: its browser session and page objects
+ * TestBase keeps one TestSession per thread so test methods can run in parallel
+ */
+final class TestSession {
+    final AccountScheduler.Lease accounts;
+    final DriverLease lease;
+    final WebDriver driver;
+    final WaitEngine waits;
+    final DevToolsCapture devTools;
+
+    // Page Objects
+    final HomePage homePage;
+    final LoginPage loginPage;
+    final RegisterPage registerPage;
+    final CartPage cartPage;
+    final CheckoutPage checkoutPage;
+    final OrderSuccessPage orderSuccessPage;
+    final OrdersPage ordersPage;
+
+    // Direct route navigation, waiting on the page objects above
+    final Navigator navigator;
+
+    TestSession(AccountScheduler.Lease accounts, DriverLease lease, WaitStatistics waitStatistics) {
+        this.accounts = accounts;
+        this.lease = lease;
+        // Only the thread running this test may use the driver
+        this.driver = ThreadConfinedDriver.confine(lease.driver());
+        // One wait engine per session, shared by the test and all its page objects
+        this.waits = WaitEngine.configured(driver, waitStatistics);
+        // Requests and console messages of this test only (inactive without DevTools)
+        this.devTools = DevToolsCapture.of(driver);
+        devTools.clear();
+
+        this.homePage = new HomePage(driver, waits);
+        this.loginPage = new LoginPage(driver, waits);
+        this.registerPage = new RegisterPage(driver, waits);
+        this.cartPage = new CartPage(driver, waits);
+        this.checkoutPage = new CheckoutPage(driver, waits);
+        this.orderSuccessPage = new OrderSuccessPage(driver, waits);
+        this.ordersPage = new OrdersPage(driver, waits);
+
+        this.navigator = new Navigator(driver, waits, TestData.BASE_URL)
+                .page(Route.HOME, homePage)
+                .page(Route.LOGIN, loginPage)
+                .page(Route.REGISTER, registerPage)
+                .page(Route.CART, cartPage)
+                .page(Route.CHECKOUT, checkoutPage)
+                .page(Route.ORDER_SUCCESS, orderSuccessPage)
+                .page(Route.MY_ORDERS, ordersPage);
+    }
+
+    /*
+     * Block any further use of this session's driver
+     */
+    void close() {
+        ThreadConfinedDriver.revoke(driver);
+    }
+}